@@ -0,0 +1,20 @@
+package com.reliaquest.api.cache;
+
+/**
+ * @param staleHits reads answered from an expired snapshot while a background refresh was pending or the upstream was
+ *     unavailable
+ * @param coalescedLoads misses that waited on another caller's in-flight load instead of calling the upstream
+ * @param revalidations loads the upstream answered with a 304 or a change feed, keeping the existing snapshot instead
+ *     of rebuilding it
+ */
+public record CacheStats(
+        long hits, long staleHits, long misses, long evictions, long coalescedLoads, long revalidations) {
+
+    /**
+     * Share of reads answered from a snapshot, stale ones included, or 0 before the first read.
+     */
+    public double hitRate() {
+        long reads = hits + staleHits + misses;
+        return reads == 0 ? 0 : (double) (hits + staleHits) / reads;
+    }
+}
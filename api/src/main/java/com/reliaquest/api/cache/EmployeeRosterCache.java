@@ -0,0 +1,330 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the single roster snapshot shared by every read in {@code EmployeeServiceImpl}. Unlike a proxy-based
+ * {@code @Cacheable}, this is called explicitly, so internal aggregate methods go through it as well.
+ *
+ * <p>With {@code employee-api.refresh.enabled}, reads never wait on the upstream once a snapshot exists: a snapshot
+ * older than {@code refresh.after} is reloaded in the background, and an expired one keeps being served until
+ * {@code refresh.max-staleness} while that reload is retried.
+ */
+@Slf4j
+@Component
+public class EmployeeRosterCache implements MeterBinder {
+
+    private static final String ROSTER = "roster";
+    private static final String CACHE_TAG = "employee-roster";
+
+    private final EmployeeApiProperties apiProperties;
+    private final RosterRefresher refresher;
+    private final Clock clock;
+    private final AtomicReference<RosterSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<RosterSnapshot> expired = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<String, RosterSnapshot> loads = new SingleFlight<>();
+    private final List<Consumer<RosterSnapshot>> installListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    @Autowired
+    public EmployeeRosterCache(EmployeeApiProperties apiProperties, RosterRefresher refresher) {
+        this(apiProperties, refresher, Clock.systemUTC());
+    }
+
+    EmployeeRosterCache(EmployeeApiProperties apiProperties, RosterRefresher refresher, Clock clock) {
+        this.apiProperties = apiProperties;
+        this.refresher = refresher;
+        this.clock = clock;
+    }
+
+    public RosterSnapshot get(Supplier<RosterFetch> loader) {
+        return get(loader, loader);
+    }
+
+    /**
+     * Like {@link #get(Supplier)}, with a separate loader for background refreshes so they can be told apart from
+     * reads that wait on the result.
+     */
+    public RosterSnapshot get(Supplier<RosterFetch> loader, Supplier<RosterFetch> refreshLoader) {
+        Optional<RosterSnapshot> cached = getIfPresent(refreshLoader);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        try {
+            return load(loader, false);
+        } catch (RuntimeException ex) {
+            return staleIfError().orElseThrow(() -> ex);
+        }
+    }
+
+    /**
+     * Same as {@link #get} up to the point where it would load: a miss is counted and left to the caller, which can
+     * then fetch without blocking and hand the result to {@link #put(RosterFetch, long)}. The loader is only used for
+     * background refreshes.
+     */
+    public Optional<RosterSnapshot> getIfPresent(Supplier<RosterFetch> loader) {
+        RosterSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            EmployeeApiProperties.Refresh refresh = apiProperties.getRefresh();
+            Duration age = Duration.between(snapshot.getLoadedAt(), clock.instant());
+            if (age.compareTo(apiProperties.getCache().getTtl()) < 0) {
+                hits.incrementAndGet();
+                recordRead("hit", age);
+                if (refresh.isEnabled() && age.compareTo(refresh.getAfter()) >= 0) {
+                    refreshInBackground(loader);
+                }
+                return Optional.of(snapshot);
+            }
+            if (refresh.isEnabled() && age.compareTo(refresh.getMaxStaleness()) < 0) {
+                staleHits.incrementAndGet();
+                recordRead("stale", age);
+                refreshInBackground(loader);
+                return Optional.of(snapshot);
+            }
+            if (current.compareAndSet(snapshot, null)) {
+                expired.set(snapshot);
+                evictions.incrementAndGet();
+                log.debug("Roster snapshot loaded at {} expired.", snapshot.getLoadedAt());
+            }
+        }
+        misses.incrementAndGet();
+        recordRead(
+                "miss", snapshot == null ? Duration.ZERO : Duration.between(snapshot.getLoadedAt(), clock.instant()));
+        return Optional.empty();
+    }
+
+    private static void recordRead(String result, Duration age) {
+        RosterReadEvent event = new RosterReadEvent();
+        if (event.isEnabled()) {
+            event.result = result;
+            event.snapshotAge = age.toMillis();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the snapshot a read would be served right now, if any, without loading, refreshing or counting.
+     */
+    public Optional<RosterSnapshot> peek() {
+        RosterSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        Duration age = Duration.between(snapshot.getLoadedAt(), clock.instant());
+        EmployeeApiProperties.Refresh refresh = apiProperties.getRefresh();
+        boolean servable = age.compareTo(apiProperties.getCache().getTtl()) < 0
+                || (refresh.isEnabled() && age.compareTo(refresh.getMaxStaleness()) < 0);
+        return servable ? Optional.of(snapshot) : Optional.empty();
+    }
+
+    /**
+     * The last expired snapshot, if it is younger than {@code cache.stale-if-error}, for readers whose reload failed.
+     * A snapshot dropped by {@link #invalidate()} is known to be wrong and is never offered.
+     */
+    public Optional<RosterSnapshot> staleIfError() {
+        RosterSnapshot snapshot = expired.get();
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        Duration age = Duration.between(snapshot.getLoadedAt(), clock.instant());
+        if (age.compareTo(apiProperties.getCache().getStaleIfError()) >= 0) {
+            expired.compareAndSet(snapshot, null);
+            return Optional.empty();
+        }
+        staleHits.incrementAndGet();
+        log.warn("Upstream unavailable; serving roster snapshot loaded at {}.", snapshot.getLoadedAt());
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * The snapshot a loader can ask the upstream about with {@code If-None-Match}: the current one, or else the last
+     * expired one, provided it carries an {@code ETag}.
+     */
+    public Optional<RosterSnapshot> revalidationCandidate() {
+        return Optional.ofNullable(current.get())
+                .or(() -> Optional.ofNullable(expired.get()))
+                .filter(snapshot -> snapshot.getETag() != null);
+    }
+
+    public RosterSnapshot put(List<Employee> employees) {
+        return put(RosterSnapshot.of(employees, clock.instant()));
+    }
+
+    private RosterSnapshot put(RosterSnapshot snapshot) {
+        int maxEntries = apiProperties.getCache().getMaxEntries();
+        if (snapshot.size() > maxEntries) {
+            evictions.incrementAndGet();
+            log.warn("Roster of {} employees exceeds cache limit of {}; not caching.", snapshot.size(), maxEntries);
+            return snapshot;
+        }
+        current.set(snapshot);
+        expired.set(null);
+        installListeners.forEach(listener -> listener.accept(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Registers a callback run whenever a newly loaded snapshot replaces the cached one; patched or revalidated
+     * snapshots are not reported again.
+     */
+    public void onInstall(Consumer<RosterSnapshot> listener) {
+        installListeners.add(listener);
+    }
+
+    /**
+     * Applies changes the upstream pushed for {@code fetch.known()} and restarts its TTL, as long as that snapshot is
+     * still the one held.
+     *
+     * @return false once the snapshot has been replaced or dropped
+     */
+    public boolean applyPushed(RosterFetch fetch) {
+        RosterSnapshot snapshot = fetch.known();
+        if (current.get() != snapshot && expired.get() != snapshot) {
+            return false;
+        }
+        snapshot.apply(fetch.changes());
+        snapshot.revalidated(clock.instant(), fetch.eTag());
+        if (current.get() != snapshot && expired.compareAndSet(snapshot, null)) {
+            current.set(snapshot);
+        }
+        return true;
+    }
+
+    /**
+     * Keeps a roster fetched outside {@link #get} unless a write was applied since {@link #generation()} returned
+     * {@code startedAt}, in which case the roster may predate it and is returned without being cached. A 304 keeps the
+     * snapshot it confirmed, indexes and all, and restarts its TTL; a change feed is patched into the snapshot first.
+     */
+    public RosterSnapshot put(RosterFetch fetch, long startedAt) {
+        boolean unchangedLocally = generation.get() == startedAt;
+        if (fetch.isIncremental()) {
+            RosterSnapshot snapshot = fetch.known();
+            if (unchangedLocally) {
+                snapshot.apply(fetch.changes());
+                snapshot.revalidated(clock.instant(), fetch.eTag());
+                current.set(snapshot);
+                expired.set(null);
+                revalidations.incrementAndGet();
+            }
+            return snapshot;
+        }
+        RosterSnapshot snapshot = RosterSnapshot.of(fetch.employees(), clock.instant(), fetch.eTag());
+        return unchangedLocally ? put(snapshot) : snapshot;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Applies a write that this service already made upstream to the cached snapshot, if there is one.
+     */
+    public void update(Consumer<RosterSnapshot> change) {
+        generation.incrementAndGet();
+        RosterSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            change.accept(snapshot);
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        expired.set(null);
+        if (current.getAndSet(null) != null) {
+            evictions.incrementAndGet();
+            log.debug("Roster snapshot invalidated.");
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(
+                hits.get(),
+                staleHits.get(),
+                misses.get(),
+                evictions.get(),
+                loads.coalescedCount(),
+                revalidations.get());
+    }
+
+    /**
+     * Registers the counters in the form Micrometer uses for other caches, {@code cache.gets} by {@code result}, plus
+     * the current hit ratio and snapshot size as gauges.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registerGets(registry, "hit", hits);
+        registerGets(registry, "stale", staleHits);
+        registerGets(registry, "miss", misses);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        FunctionCounter.builder("cache.revalidations", revalidations, AtomicLong::get)
+                .description("Loads that kept the existing snapshot after a 304 or a change feed")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+        Gauge.builder("cache.size", current, snapshot -> Optional.ofNullable(snapshot.get())
+                        .map(RosterSnapshot::size)
+                        .orElse(0))
+                .description("Employees in the current snapshot")
+                .tag("cache", CACHE_TAG)
+                .register(registry);
+    }
+
+    private static void registerGets(MeterRegistry registry, String result, AtomicLong count) {
+        FunctionCounter.builder("cache.gets", count, AtomicLong::get)
+                .tag("cache", CACHE_TAG)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void refreshInBackground(Supplier<RosterFetch> loader) {
+        refresher.submit(() -> load(loader, true));
+    }
+
+    private RosterSnapshot load(Supplier<RosterFetch> loader, boolean background) {
+        return loads.execute(ROSTER, () -> {
+            RosterLoadEvent event = new RosterLoadEvent();
+            event.begin();
+            event.background = background;
+            event.result = "failed";
+            try {
+                long startedAt = generation.get();
+                RosterFetch fetch = loader.get();
+                RosterSnapshot snapshot = put(fetch, startedAt);
+                event.result =
+                        !fetch.isIncremental() ? "loaded" : fetch.changes().isEmpty() ? "not-modified" : "patched";
+                event.employees = snapshot.size();
+                return snapshot;
+            } finally {
+                event.commit();
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.util.List;
+
+/**
+ * What a roster loader got back from the upstream: either a full roster, tagged with the upstream's {@code ETag} when it
+ * sent one, or an answer about the {@code known} snapshot it asked about: unchanged after a 304, or the {@code changes}
+ * that bring it up to the version tagged {@code eTag}.
+ */
+public record RosterFetch(List<Employee> employees, String eTag, RosterSnapshot known, List<EmployeeChange> changes) {
+
+    public static RosterFetch of(List<Employee> employees) {
+        return of(employees, null);
+    }
+
+    public static RosterFetch of(List<Employee> employees, String eTag) {
+        return new RosterFetch(employees, eTag, null, List.of());
+    }
+
+    public static RosterFetch notModified(RosterSnapshot snapshot) {
+        return new RosterFetch(null, snapshot.getETag(), snapshot, List.of());
+    }
+
+    public static RosterFetch changed(RosterSnapshot snapshot, List<EmployeeChange> changes, String eTag) {
+        return new RosterFetch(null, eTag, snapshot, changes);
+    }
+
+    /**
+     * Whether this keeps the known snapshot, with or without changes to apply, rather than replacing it.
+     */
+    public boolean isIncremental() {
+        return known != null;
+    }
+}
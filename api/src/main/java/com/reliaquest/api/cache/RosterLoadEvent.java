@@ -0,0 +1,29 @@
+package com.reliaquest.api.cache;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A load of the roster from the upstream, from the call until the result was cached.
+ */
+@Name("com.reliaquest.api.RosterLoad")
+@Label("Roster Load")
+@Category({"Employee API", "Roster Cache"})
+@StackTrace(false)
+class RosterLoadEvent extends Event {
+
+    @Label("Background")
+    @Description("Whether this was a refresh no read waited on")
+    boolean background;
+
+    @Label("Result")
+    @Description("loaded, patched, not-modified or failed")
+    String result;
+
+    @Label("Employees")
+    int employees;
+}
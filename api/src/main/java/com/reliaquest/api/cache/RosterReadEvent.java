@@ -0,0 +1,28 @@
+package com.reliaquest.api.cache;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A read of the roster cache, committed as an instant event.
+ */
+@Name("com.reliaquest.api.RosterRead")
+@Label("Roster Cache Read")
+@Category({"Employee API", "Roster Cache"})
+@StackTrace(false)
+class RosterReadEvent extends Event {
+
+    @Label("Result")
+    @Description("hit, stale or miss")
+    String result;
+
+    @Label("Snapshot Age")
+    @Description("Age of the snapshot the read found, or 0 when there was none")
+    @Timespan(Timespan.MILLISECONDS)
+    long snapshotAge;
+}
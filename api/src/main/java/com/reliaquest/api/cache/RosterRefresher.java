@@ -0,0 +1,68 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import com.reliaquest.api.utils.RetryAfter;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Runs roster reloads on a single background thread, at most one at a time. After a failure no new reload is accepted
+ * until the upstream's {@code Retry-After} (or the configured retry delay) has passed.
+ */
+@Slf4j
+@Component
+public class RosterRefresher implements DisposableBean {
+
+    private final EmployeeApiProperties apiProperties;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public RosterRefresher(EmployeeApiProperties apiProperties) {
+        this.apiProperties = apiProperties;
+    }
+
+    public void submit(Runnable refresh) {
+        if (pending.compareAndSet(false, true)) {
+            worker.execute(() -> run(refresh));
+        }
+    }
+
+    private void run(Runnable refresh) {
+        boolean releaseLater = false;
+        try {
+            refresh.run();
+        } catch (RuntimeException ex) {
+            Duration delay = apiProperties.getRefresh().getRetryDelay();
+            if (ex instanceof HttpClientErrorException.TooManyRequests tooManyRequests) {
+                delay = RetryAfter.from(tooManyRequests).orElse(delay);
+            } else if (ex instanceof UpstreamUnavailableException unavailable) {
+                delay = unavailable.getRetryAfter();
+            }
+            log.warn("Background roster refresh failed, next attempt allowed in {}: {}", delay, ex.getMessage());
+            worker.schedule(() -> pending.set(false), delay.toMillis(), TimeUnit.MILLISECONDS);
+            releaseLater = true;
+        } finally {
+            // Anything else, an Error included, must not leave background refresh switched off for good.
+            if (!releaseLater) {
+                pending.set(false);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+}
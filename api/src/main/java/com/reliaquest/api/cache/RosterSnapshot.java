@@ -0,0 +1,272 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.index.NameSearchIndex;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeePage;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.Getter;
+
+/**
+ * Copy of the upstream employee roster plus the indexes derived from it. Indexes are built once per snapshot and then
+ * patched in place as this service creates and deletes employees.
+ *
+ * <p>The employee list is copy-on-write, the id map is a concurrent sorted map that also serves keyset pages, and the
+ * precomputed salary aggregates are published through volatile fields, so those reads take no lock. Index lookups
+ * that walk mutable structures take the read lock; writers take the write lock.
+ */
+public class RosterSnapshot {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<UUID, Employee> employeesById = new ConcurrentSkipListMap<>();
+    private final SalaryIndex salaryIndex;
+    private final NameSearchIndex nameSearchIndex;
+
+    // Moved forward when the upstream confirms, via a 304, that this snapshot is still current.
+    @Getter
+    private volatile Instant loadedAt;
+
+    // The upstream's validator for the roster this snapshot matches, if it sent one; moves with applied changes.
+    @Getter
+    private volatile String eTag;
+
+    private volatile List<Employee> employees;
+
+    private RosterSnapshot(List<Employee> employees, Instant loadedAt, String eTag) {
+        this.employees = employees;
+        this.loadedAt = loadedAt;
+        this.eTag = eTag;
+        for (Employee employee : employees) {
+            if (employee.getId() != null) {
+                employeesById.put(employee.getId(), employee);
+            }
+        }
+        this.salaryIndex = SalaryIndex.of(employees);
+        this.nameSearchIndex = NameSearchIndex.of(employees);
+    }
+
+    public static RosterSnapshot of(List<Employee> employees, Instant loadedAt) {
+        return of(employees, loadedAt, null);
+    }
+
+    public static RosterSnapshot of(List<Employee> employees, Instant loadedAt, String eTag) {
+        return new RosterSnapshot(List.copyOf(employees), loadedAt, eTag);
+    }
+
+    void revalidated(Instant at) {
+        loadedAt = at;
+    }
+
+    void revalidated(Instant at, String eTag) {
+        this.eTag = eTag;
+        loadedAt = at;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Optional<Employee> findById(UUID id) {
+        return Optional.ofNullable(employeesById.get(id));
+    }
+
+    /**
+     * Up to {@code limit} employees with ids greater than {@code after}, in id order.
+     */
+    public EmployeePage page(UUID after, int limit) {
+        Map<UUID, Employee> tail = after == null ? employeesById : employeesById.tailMap(after, false);
+        List<Employee> page = new ArrayList<>();
+        UUID nextCursor = null;
+        for (Employee employee : tail.values()) {
+            if (page.size() == limit) {
+                nextCursor = page.get(limit - 1).getId();
+                break;
+            }
+            page.add(employee);
+        }
+        return new EmployeePage(page, nextCursor);
+    }
+
+    public int highestSalary() {
+        return salaryIndex.highest();
+    }
+
+    public List<String> topTenEarnerNames() {
+        return salaryIndex.topTenNames();
+    }
+
+    public List<String> topEarnerNames(int n) {
+        if (n <= SalaryIndex.TOP_TEN) {
+            return salaryIndex.topNames(n);
+        }
+        lock.readLock().lock();
+        try {
+            return salaryIndex.topNames(n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Employee> searchByName(String fragment) {
+        lock.readLock().lock();
+        try {
+            return nameSearchIndex.search(fragment);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countWithName(String name) {
+        int count = 0;
+        for (Employee employee : searchByName(name)) {
+            if (employee.getName().equalsIgnoreCase(name)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds an employee unless one with the same id is already present.
+     */
+    public boolean add(Employee employee) {
+        return addAll(List.of(employee)) == 1;
+    }
+
+    public boolean remove(UUID id) {
+        return removeAll(List.of(id)) == 1;
+    }
+
+    /**
+     * Adds an employee, or replaces the one with the same id when it differs, keeping its place in the list.
+     *
+     * @return whether the snapshot changed
+     */
+    public boolean put(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            Employee previous = employeesById.get(employee.getId());
+            if (previous == null) {
+                return add(employee);
+            }
+            if (previous.equals(employee)) {
+                return false;
+            }
+            employeesById.put(employee.getId(), employee);
+            salaryIndex.remove(previous);
+            salaryIndex.add(employee);
+            nameSearchIndex.replace(employee);
+            List<Employee> updated = new ArrayList<>(employees);
+            updated.replaceAll(current -> current == previous ? employee : current);
+            employees = Collections.unmodifiableList(updated);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds every employee whose id is not present yet, copying the employee list once for the whole batch.
+     *
+     * @return the number of employees added
+     */
+    public int addAll(Collection<Employee> added) {
+        lock.writeLock().lock();
+        try {
+            List<Employee> fresh = new ArrayList<>(added.size());
+            for (Employee employee : added) {
+                if (employeesById.putIfAbsent(employee.getId(), employee) == null) {
+                    fresh.add(employee);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+            List<Employee> updated = new ArrayList<>(employees.size() + fresh.size());
+            updated.addAll(employees);
+            updated.addAll(fresh);
+            employees = Collections.unmodifiableList(updated);
+            for (Employee employee : fresh) {
+                salaryIndex.add(employee);
+                nameSearchIndex.add(employee);
+            }
+            return fresh.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays upstream changes in order, batching each run of creates or deletes into one {@link #addAll} or
+     * {@link #removeAll}. Changes this service already applied itself are skipped by those as duplicates.
+     */
+    public void apply(List<EmployeeChange> changes) {
+        int start = 0;
+        while (start < changes.size()) {
+            EmployeeChange.Type type = changes.get(start).getType();
+            int end = start + 1;
+            while (end < changes.size() && changes.get(end).getType() == type) {
+                end++;
+            }
+            List<Employee> run = changes.subList(start, end).stream()
+                    .map(EmployeeChange::getEmployee)
+                    .filter(employee -> employee != null && employee.getId() != null)
+                    .toList();
+            if (type == EmployeeChange.Type.CREATED) {
+                addAll(run);
+            } else {
+                removeAll(run.stream().map(Employee::getId).toList());
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * @return the number of employees removed
+     */
+    public int removeAll(Collection<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            Set<UUID> removedIds = new HashSet<>();
+            for (UUID id : ids) {
+                Employee employee = employeesById.remove(id);
+                if (employee != null) {
+                    removedIds.add(id);
+                    salaryIndex.remove(employee);
+                    nameSearchIndex.remove(id);
+                }
+            }
+            if (removedIds.isEmpty()) {
+                return 0;
+            }
+            List<Employee> updated = new ArrayList<>(employees.size() - removedIds.size());
+            for (Employee employee : employees) {
+                if (!removedIds.contains(employee.getId())) {
+                    updated.add(employee);
+                }
+            }
+            employees = Collections.unmodifiableList(updated);
+            return removedIds.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fails upstream calls fast while the upstream is locked out or failing. It opens straight away on a 429 and after
+ * {@code failureThreshold} consecutive failures otherwise. Once the open period ends, a single probe call is let
+ * through: its success closes the breaker, its failure opens it again.
+ *
+ * <p>Every permitted call must end in exactly one of {@link #onSuccess}, {@link #onFailure}, {@link #onLockout} or
+ * {@link #release}.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Duration PROBE_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final int failureThreshold;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private boolean lockout;
+    private boolean probeInFlight;
+    private Instant openUntil = Instant.MIN;
+
+    public CircuitBreaker(int failureThreshold, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.clock = clock;
+    }
+
+    public void acquirePermission() {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            if (state == State.OPEN) {
+                if (now.isBefore(openUntil)) {
+                    throw rejection(Duration.between(now, openUntil));
+                }
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probeInFlight) {
+                    throw rejection(PROBE_RETRY_AFTER);
+                }
+                probeInFlight = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The upstream answered, whatever the status; it is reachable and not throttling.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure(Duration openFor) {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                open(openFor, false);
+            }
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onLockout(Duration openFor) {
+        lock.lock();
+        try {
+            open(openFor, true);
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The permitted call never reached the upstream.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state == State.OPEN && !clock.instant().isBefore(openUntil) ? State.HALF_OPEN : state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open(Duration openFor, boolean lockout) {
+        state = State.OPEN;
+        this.lockout = lockout;
+        openUntil = clock.instant().plus(openFor);
+    }
+
+    private UpstreamUnavailableException rejection(Duration retryAfter) {
+        return lockout
+                ? new UpstreamThrottledException(retryAfter)
+                : new UpstreamUnavailableException("Upstream circuit breaker is open", retryAfter);
+    }
+}
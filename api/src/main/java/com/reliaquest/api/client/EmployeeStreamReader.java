@@ -0,0 +1,66 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.MediaType;
+
+/**
+ * Reads the upstream roster straight off the response stream, one employee at a time, so neither the raw body nor an
+ * {@code EmployeeList} envelope is held alongside the employees themselves. Understands both the NDJSON the mock
+ * server streams on request and its regular {@code {"data": [...]}} response.
+ */
+public final class EmployeeStreamReader {
+
+    private static final ObjectReader EMPLOYEE_READER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(Employee.class);
+
+    private EmployeeStreamReader() {}
+
+    /**
+     * @return the employees in upstream order, or {@code null} if an enveloped response carried no data
+     */
+    public static List<Employee> read(InputStream body, MediaType contentType) throws IOException {
+        try (JsonParser parser = EMPLOYEE_READER.createParser(body)) {
+            if (contentType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                return readObjects(parser);
+            }
+            return readEnvelope(parser);
+        }
+    }
+
+    private static List<Employee> readEnvelope(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                return readObjects(parser);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /*
+     * Reads consecutive objects, whether top-level NDJSON lines or array elements, up to the first other token.
+     */
+    private static List<Employee> readObjects(JsonParser parser) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            employees.add(EMPLOYEE_READER.readValue(parser));
+        }
+        return employees;
+    }
+}
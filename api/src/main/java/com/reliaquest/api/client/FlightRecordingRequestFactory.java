@@ -0,0 +1,177 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.util.UriTemplate;
+
+/**
+ * Emits an {@link UpstreamExchangeEvent} for every request made through the wrapped factory while a flight recording
+ * has the event enabled. Otherwise requests are created by the wrapped factory untouched, so the only cost is one
+ * check.
+ */
+public class FlightRecordingRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    // Literal endpoints first, so that /employee/batch is not taken for /employee/{id}.
+    private final Map<UriTemplate, String> templates = new LinkedHashMap<>();
+
+    public FlightRecordingRequestFactory(ClientHttpRequestFactory delegate, EmployeeApiProperties apiProperties) {
+        this.delegate = delegate;
+        Stream.of(
+                        apiProperties.getAllEmployeeEndpoint(),
+                        apiProperties.getEmployeeByIdEndpoint(),
+                        apiProperties.getBatchEndpoint(),
+                        apiProperties.getChangesEndpoint(),
+                        apiProperties.getChangesStreamEndpoint())
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(endpoint -> endpoint.contains("{")))
+                .forEach(endpoint -> templates.put(new UriTemplate(apiProperties.getBaseUrl() + endpoint), endpoint));
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        ClientHttpRequest request = delegate.createRequest(uri, httpMethod);
+        UpstreamExchangeEvent event = new UpstreamExchangeEvent();
+        return event.isEnabled() ? new RecordedRequest(request, event) : request;
+    }
+
+    private String templateOf(URI uri) {
+        String withoutQuery = uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath();
+        for (Map.Entry<UriTemplate, String> template : templates.entrySet()) {
+            if (template.getKey().matches(withoutQuery)) {
+                return template.getValue();
+            }
+        }
+        return uri.getRawPath();
+    }
+
+    private class RecordedRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest request;
+        private final UpstreamExchangeEvent event;
+
+        RecordedRequest(ClientHttpRequest request, UpstreamExchangeEvent event) {
+            this.request = request;
+            this.event = event;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            event.method = request.getMethod().name();
+            event.uriTemplate = templateOf(request.getURI());
+            event.begin();
+            try {
+                ClientHttpResponse response = request.execute();
+                event.status = response.getStatusCode().value();
+                return new RecordedResponse(response, event);
+            } catch (IOException | RuntimeException ex) {
+                event.commit();
+                throw ex;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+
+    /*
+     * Counts the body as it is read and commits the event when the caller closes the response.
+     */
+    private static class RecordedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final UpstreamExchangeEvent event;
+        private InputStream body;
+        private boolean committed;
+
+        RecordedResponse(ClientHttpResponse response, UpstreamExchangeEvent event) {
+            this.response = response;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(response.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int read = super.read();
+                        if (read >= 0) {
+                            event.bytes++;
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        if (read > 0) {
+                            event.bytes += read;
+                        }
+                        return read;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (!committed) {
+                    committed = true;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
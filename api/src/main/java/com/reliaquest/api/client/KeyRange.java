@@ -0,0 +1,35 @@
+package com.reliaquest.api.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A slice of the id keyspace, exclusive at both ends, with {@code null} meaning unbounded. Random ids spread evenly
+ * over the keyspace, so equal slices can be paged through in parallel with roughly equal work each.
+ */
+public record KeyRange(UUID after, UUID before) {
+
+    public static final KeyRange ALL = new KeyRange(null, null);
+
+    /**
+     * Splits the keyspace, in {@link UUID#compareTo} order, into {@code partitions} adjacent ranges that together
+     * cover every id.
+     */
+    public static List<KeyRange> split(int partitions) {
+        if (partitions <= 1) {
+            return List.of(ALL);
+        }
+        long step = Long.divideUnsigned(-1L, partitions);
+        List<KeyRange> ranges = new ArrayList<>(partitions);
+        UUID after = null;
+        for (int i = 1; i < partitions; i++) {
+            long boundary = Long.MIN_VALUE + i * step;
+            ranges.add(new KeyRange(after, new UUID(boundary, Long.MIN_VALUE)));
+            // The greatest id below the boundary, so the next range starts exactly at it.
+            after = new UUID(boundary - 1, Long.MAX_VALUE);
+        }
+        ranges.add(new KeyRange(after, null));
+        return ranges;
+    }
+}
@@ -0,0 +1,133 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterFetch;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+/**
+ * Keeps the cached roster current from the upstream's change stream instead of polling it. Whenever the cache installs
+ * a freshly loaded, tagged snapshot, the stream is (re)opened from that snapshot's version; changes are patched into it
+ * as they arrive and every event or heartbeat restarts its TTL, so while the stream is up the roster never expires.
+ *
+ * <p>A dropped or silent connection is reopened with backoff, resuming after the last change applied. When the upstream
+ * answers with a reset, or the snapshot is replaced or dropped, the stream stops until the next full load.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "employee-api.changes", name = "push", havingValue = "true")
+public class RosterChangeStream implements DisposableBean {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<EmployeeChange>> CHANGE_EVENT =
+            new ParameterizedTypeReference<>() {};
+
+    private final EmployeeApiProperties apiProperties;
+    private final EmployeeRosterCache rosterCache;
+    // Separate from the request client: a stream stays open far longer than any response timeout allows.
+    private final WebClient webClient;
+    private final AtomicReference<RosterSnapshot> followed = new AtomicReference<>();
+    private final AtomicReference<Disposable> subscription = new AtomicReference<>();
+
+    public RosterChangeStream(
+            EmployeeApiProperties apiProperties, EmployeeRosterCache rosterCache, WebClient.Builder builder) {
+        this.apiProperties = apiProperties;
+        this.rosterCache = rosterCache;
+        this.webClient = builder.baseUrl(apiProperties.getBaseUrl()).build();
+        rosterCache.onInstall(this::follow);
+    }
+
+    /**
+     * The snapshot the stream currently keeps up to date, if any.
+     */
+    public RosterSnapshot followed() {
+        return followed.get();
+    }
+
+    void follow(RosterSnapshot snapshot) {
+        if (EmployeeChanges.sequenceOf(snapshot.getETag()).isEmpty() || followed.getAndSet(snapshot) == snapshot) {
+            return;
+        }
+        Disposable previous = subscription.getAndSet(events(snapshot)
+                .takeWhile(event -> apply(snapshot, event))
+                .subscribe(
+                        event -> {},
+                        error -> log.warn("Roster change stream stopped: {}", error.getMessage()),
+                        () -> followed.compareAndSet(snapshot, null)));
+        if (previous != null) {
+            previous.dispose();
+        }
+    }
+
+    /*
+     * Every (re)connect resumes from the snapshot's version at that moment; an orderly close is retried like an error.
+     */
+    private Flux<ServerSentEvent<EmployeeChange>> events(RosterSnapshot snapshot) {
+        EmployeeApiProperties.Changes changes = apiProperties.getChanges();
+        return Flux.defer(() -> webClient
+                        .get()
+                        .uri(apiProperties.getChangesStreamEndpoint())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", String.valueOf(sequenceOf(snapshot)))
+                        .retrieve()
+                        .bodyToFlux(CHANGE_EVENT))
+                .doOnSubscribe(ignored -> log.info("Following roster changes after version {}.", sequenceOf(snapshot)))
+                .timeout(changes.getIdleTimeout())
+                .concatWith(Flux.error(() -> new IllegalStateException("Change stream closed by upstream")))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, changes.getReconnectDelay())
+                        .maxBackoff(changes.getMaxReconnectDelay())
+                        .doBeforeRetry(signal -> log.debug(
+                                "Reconnecting roster change stream: {}",
+                                signal.failure().getMessage())));
+    }
+
+    /*
+     * Returns false to stop following: on a reset, or once the cache no longer holds the snapshot.
+     */
+    private boolean apply(RosterSnapshot snapshot, ServerSentEvent<EmployeeChange> event) {
+        if ("reset".equals(event.event())) {
+            log.info(
+                    "Upstream change log no longer reaches roster version {}; waiting for a reload.",
+                    sequenceOf(snapshot));
+            return false;
+        }
+        if (followed.get() != snapshot || event.id() == null) {
+            return followed.get() == snapshot;
+        }
+        long seq = Long.parseLong(event.id());
+        long known = sequenceOf(snapshot);
+        List<EmployeeChange> changes = "change".equals(event.event()) && event.data() != null && seq > known
+                ? List.of(event.data())
+                : List.of();
+        return rosterCache.applyPushed(
+                RosterFetch.changed(snapshot, changes, EmployeeChanges.eTagOf(Math.max(seq, known))));
+    }
+
+    private static long sequenceOf(RosterSnapshot snapshot) {
+        OptionalLong seq = EmployeeChanges.sequenceOf(snapshot.getETag());
+        return seq.orElse(0);
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = subscription.getAndSet(null);
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
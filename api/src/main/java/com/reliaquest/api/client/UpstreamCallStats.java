@@ -0,0 +1,9 @@
+package com.reliaquest.api.client;
+
+/**
+ * @param calls attempts actually sent to the upstream
+ * @param failures attempts answered with 429 or 5xx, or lost to an I/O error
+ * @param rejected attempts refused locally by the circuit breaker, bulkhead or limiter
+ * @param throttled the failures that were 429s
+ */
+public record UpstreamCallStats(long calls, long failures, long retries, long rejected, long throttled) {}
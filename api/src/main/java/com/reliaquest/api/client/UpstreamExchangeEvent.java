@@ -0,0 +1,34 @@
+package com.reliaquest.api.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One blocking HTTP exchange with the upstream, from sending the request until its response body was closed.
+ */
+@Name("com.reliaquest.api.UpstreamExchange")
+@Label("Upstream Exchange")
+@Category({"Employee API", "Upstream"})
+@StackTrace(false)
+class UpstreamExchangeEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI Template")
+    @Description("The configured endpoint the request matched, or its path when it matched none")
+    String uriTemplate;
+
+    @Label("Status")
+    @Description("HTTP status of the response, or 0 when none arrived")
+    int status;
+
+    @Label("Response Bytes")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+}
@@ -0,0 +1,352 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.UpstreamLimiter.Priority;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import com.reliaquest.api.utils.RetryAfter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Single path for every call to the upstream, blocking or reactive. Each attempt passes, in order, the circuit
+ * breaker, the bulkhead and the {@link UpstreamLimiter}, and its outcome is fed back to the breaker and the limiter.
+ * Failed attempts are retried with decorrelated jitter where {@link #retryDelay} allows.
+ */
+@Slf4j
+@Component
+public class UpstreamGateway implements MeterBinder {
+
+    private final EmployeeApiProperties apiProperties;
+    private final UpstreamLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Map<UpstreamOperation, OperationStats> stats = new EnumMap<>(UpstreamOperation.class);
+    private final UpstreamTimers timers = new UpstreamTimers();
+
+    @Autowired
+    public UpstreamGateway(EmployeeApiProperties apiProperties, UpstreamLimiter limiter) {
+        this(apiProperties, limiter, Clock.systemUTC());
+    }
+
+    UpstreamGateway(EmployeeApiProperties apiProperties, UpstreamLimiter limiter, Clock clock) {
+        EmployeeApiProperties.Resilience resilience = apiProperties.getResilience();
+        this.apiProperties = apiProperties;
+        this.limiter = limiter;
+        this.circuitBreaker = new CircuitBreaker(resilience.getCircuitBreaker().getFailureThreshold(), clock);
+        this.bulkhead = new Semaphore(resilience.getBulkhead().getMaxConcurrentCalls(), true);
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public <T> T call(UpstreamOperation operation, Priority priority, Supplier<T> call) {
+        Duration previousDelay = Duration.ZERO;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(operation, priority, call);
+            } catch (RuntimeException ex) {
+                Optional<Duration> delay = retryDelay(operation, ex, attempt, previousDelay);
+                if (delay.isEmpty()) {
+                    throw ex;
+                }
+                previousDelay = delay.get();
+                stats.get(operation).retries.increment();
+                log.debug("Retrying upstream {} in {} after: {}", operation.getTag(), previousDelay, ex.getMessage());
+                try {
+                    Thread.sleep(previousDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reactive form of {@link #call(UpstreamOperation, Priority, Supplier)}. Waiting for a limiter permit happens on a
+     * bounded-elastic thread, never on the event loop, and a full bulkhead fails at once.
+     */
+    public <T> Mono<T> call(UpstreamOperation operation, Priority priority, Mono<T> call) {
+        AtomicReference<Duration> previousDelay = new AtomicReference<>(Duration.ZERO);
+        return attempt(operation, priority, call)
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Optional<Duration> delay = retryDelay(
+                            operation, signal.failure(), (int) signal.totalRetries() + 1, previousDelay.get());
+                    if (delay.isEmpty()) {
+                        return Mono.error(signal.failure());
+                    }
+                    previousDelay.set(delay.get());
+                    stats.get(operation).retries.increment();
+                    return Mono.delay(delay.get());
+                })));
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    public UpstreamCallStats stats(UpstreamOperation operation) {
+        OperationStats operationStats = stats.get(operation);
+        return new UpstreamCallStats(
+                operationStats.calls.sum(),
+                operationStats.failures.sum(),
+                operationStats.retries.sum(),
+                operationStats.rejected.sum(),
+                operationStats.throttled.sum());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        stats.forEach((operation, operationStats) -> {
+            String tag = operation.getTag();
+            FunctionCounter.builder("employee.upstream.calls", operationStats.calls, LongAdder::sum)
+                    .tag("operation", tag)
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.failures", operationStats.failures, LongAdder::sum)
+                    .tag("operation", tag)
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.retries", operationStats.retries, LongAdder::sum)
+                    .tag("operation", tag)
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.rejected", operationStats.rejected, LongAdder::sum)
+                    .description("Calls refused locally by the circuit breaker, bulkhead or limiter")
+                    .tag("operation", tag)
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.throttled", operationStats.throttled, LongAdder::sum)
+                    .description("Calls the upstream answered with 429 Too Many Requests")
+                    .tag("operation", tag)
+                    .register(registry);
+        });
+        Gauge.builder("employee.upstream.circuit.state", this, gateway -> gateway.circuitState()
+                        .ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .register(registry);
+        Gauge.builder("employee.upstream.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(registry);
+        timers.bindTo(registry);
+    }
+
+    /*
+     * The limiter wait comes before the bulkhead, so slots are only held by calls actually on the wire; a permit taken
+     * for a call the bulkhead then refuses is given back.
+     */
+    private <T> T attempt(UpstreamOperation operation, Priority priority, Supplier<T> call) {
+        OperationStats operationStats = stats.get(operation);
+        enter(operationStats);
+        try {
+            limiter.acquire(priority);
+        } catch (RuntimeException ex) {
+            onError(operationStats, ex);
+            throw ex;
+        }
+        try {
+            if (!bulkhead.tryAcquire(
+                    apiProperties.getResilience().getBulkhead().getMaxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                limiter.refund();
+                throw bulkheadFull(operationStats);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            limiter.refund();
+            throw bulkheadFull(operationStats);
+        }
+        operationStats.calls.increment();
+        long sentAt = System.nanoTime();
+        try {
+            T result = call.get();
+            timers.record(operation, responseStatusOf(result), sentAt);
+            onResponse(result);
+            return result;
+        } catch (RuntimeException ex) {
+            timers.record(operation, statusOf(ex), sentAt);
+            onError(operationStats, ex);
+            throw ex;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> Mono<T> attempt(UpstreamOperation operation, Priority priority, Mono<T> call) {
+        OperationStats operationStats = stats.get(operation);
+        return Mono.defer(() -> {
+            enter(operationStats);
+            Mono<Void> permit = limiter.tryAcquire(priority)
+                    ? Mono.empty()
+                    : Mono.<Void>fromRunnable(() -> limiter.acquire(priority)).subscribeOn(Schedulers.boundedElastic());
+            return permit.then(Mono.defer(() -> {
+                        if (!bulkhead.tryAcquire()) {
+                            limiter.refund();
+                            // Counted and released by onError below, like a refusal from the limiter.
+                            return Mono.<T>error(bulkheadFullException());
+                        }
+                        operationStats.calls.increment();
+                        long sentAt = System.nanoTime();
+                        return call.doOnSuccess(result -> timers.record(operation, responseStatusOf(result), sentAt))
+                                .doOnError(ex -> timers.record(operation, statusOf(ex), sentAt))
+                                .doFinally(signal -> bulkhead.release());
+                    }))
+                    .doOnSuccess(this::onResponse)
+                    .doOnError(ex -> onError(operationStats, ex))
+                    .doOnCancel(circuitBreaker::release);
+        });
+    }
+
+    private void enter(OperationStats operationStats) {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (UpstreamUnavailableException ex) {
+            operationStats.rejected.increment();
+            throw ex;
+        }
+    }
+
+    private UpstreamUnavailableException bulkheadFull(OperationStats operationStats) {
+        circuitBreaker.release();
+        operationStats.rejected.increment();
+        return bulkheadFullException();
+    }
+
+    private UpstreamUnavailableException bulkheadFullException() {
+        return new UpstreamUnavailableException(
+                "Too many concurrent upstream calls",
+                apiProperties.getResilience().getBulkhead().getMaxWait());
+    }
+
+    private void onResponse(Object result) {
+        if (result instanceof ResponseEntity<?> response
+                && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            // The upstream does not count conditional hits against its budget.
+            limiter.refund();
+        } else {
+            limiter.onResponse();
+        }
+        circuitBreaker.onSuccess();
+    }
+
+    private void onError(OperationStats operationStats, Throwable error) {
+        if (error instanceof UpstreamUnavailableException) {
+            // Refused by the limiter before anything was sent.
+            operationStats.rejected.increment();
+            circuitBreaker.release();
+            return;
+        }
+        int status = statusOf(error);
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            operationStats.failures.increment();
+            operationStats.throttled.increment();
+            Optional<Duration> retryAfter = RetryAfter.from(headersOf(error));
+            limiter.onThrottled(retryAfter);
+            circuitBreaker.onLockout(retryAfter.orElseGet(this::lockoutEstimate));
+        } else if (status >= 500 || (status < 0 && isIoError(error))) {
+            operationStats.failures.increment();
+            if (status >= 500) {
+                limiter.onResponse();
+            }
+            circuitBreaker.onFailure(
+                    apiProperties.getResilience().getCircuitBreaker().getOpenDuration());
+        } else if (status > 0) {
+            onResponse(null);
+        } else {
+            circuitBreaker.release();
+        }
+    }
+
+    /*
+     * Decorrelated jitter: each delay is drawn between the base delay and three times the previous one, capped.
+     */
+    private Optional<Duration> retryDelay(
+            UpstreamOperation operation, Throwable error, int attempt, Duration previousDelay) {
+        EmployeeApiProperties.Resilience.Retry retry =
+                apiProperties.getResilience().getRetry();
+        if (attempt >= retry.getMaxAttempts() || error instanceof UpstreamUnavailableException) {
+            return Optional.empty();
+        }
+        int status = statusOf(error);
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return RetryAfter.from(headersOf(error))
+                    .filter(retryAfter -> retryAfter.compareTo(retry.getMaxDelay()) <= 0);
+        }
+        if (!operation.isIdempotent() || !(status >= 500 || (status < 0 && isIoError(error)))) {
+            return Optional.empty();
+        }
+        long base = retry.getBaseDelay().toMillis();
+        long upper = Math.max(base + 1, previousDelay.toMillis() * 3);
+        long delay = Math.min(
+                retry.getMaxDelay().toMillis(), ThreadLocalRandom.current().nextLong(base, upper));
+        return Optional.of(Duration.ofMillis(delay));
+    }
+
+    private Duration lockoutEstimate() {
+        Duration untilRefill = limiter.timeUntilRefill();
+        return untilRefill.isZero()
+                ? apiProperties.getResilience().getCircuitBreaker().getOpenDuration()
+                : untilRefill;
+    }
+
+    /*
+     * Blocking calls return the ResponseEntity; reactive ones only the body, which the upstream sends with a 200.
+     */
+    private static int responseStatusOf(Object result) {
+        return result instanceof ResponseEntity<?> response
+                ? response.getStatusCode().value()
+                : HttpStatus.OK.value();
+    }
+
+    private static int statusOf(Throwable error) {
+        if (error instanceof RestClientResponseException ex) {
+            return ex.getStatusCode().value();
+        }
+        if (error instanceof WebClientResponseException ex) {
+            return ex.getStatusCode().value();
+        }
+        return -1;
+    }
+
+    private static HttpHeaders headersOf(Throwable error) {
+        if (error instanceof RestClientResponseException ex) {
+            return ex.getResponseHeaders();
+        }
+        if (error instanceof WebClientResponseException ex) {
+            return ex.getHeaders();
+        }
+        return null;
+    }
+
+    private static boolean isIoError(Throwable error) {
+        return error instanceof ResourceAccessException || error instanceof WebClientRequestException;
+    }
+
+    private static class OperationStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+    }
+}
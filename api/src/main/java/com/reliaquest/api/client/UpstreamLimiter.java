@@ -0,0 +1,298 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client-side copy of the upstream's request budget: a bucket of {@code budget} permits that refills in full once
+ * {@code window} has passed since the last request the upstream accepted, which is how the mock server's limiter
+ * resets.
+ *
+ * <p>The budget starts at {@code limiter.initial-budget} and grows by one per window until the first 429, which pins it
+ * to the number of requests the upstream accepted in that window. A 429 straight after a refill means the window was
+ * too short, so it grows by half. A {@code Retry-After} header overrides the window for that lockout.
+ *
+ * <p>When permits run out, writes are served before reads and reads before background refreshes. Background refreshes
+ * never wait and leave {@code limiter.reserved-permits} for the others.
+ */
+@Slf4j
+@Component
+public class UpstreamLimiter implements MeterBinder {
+
+    public enum Priority {
+        WRITE,
+        READ,
+        BACKGROUND
+    }
+
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final EmployeeApiProperties apiProperties;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitsChanged = lock.newCondition();
+    private final int[] waiting = new int[Priority.values().length];
+
+    private int budget;
+    private int permits;
+    private int acceptedInWindow;
+    private boolean throttledInWindow;
+    private boolean budgetLearned;
+    private Duration window;
+    private Instant lastAccepted;
+    private Instant refillAt = Instant.MIN;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    @Autowired
+    public UpstreamLimiter(EmployeeApiProperties apiProperties) {
+        this(apiProperties, Clock.systemUTC());
+    }
+
+    UpstreamLimiter(EmployeeApiProperties apiProperties, Clock clock) {
+        this.apiProperties = apiProperties;
+        this.clock = clock;
+        this.budget = Math.max(1, apiProperties.getLimiter().getInitialBudget());
+        this.permits = budget;
+        this.window = apiProperties.getLimiter().getWindow();
+    }
+
+    /**
+     * Takes a permit, waiting up to {@code limiter.max-wait} for one unless this is a background call.
+     *
+     * @throws UpstreamThrottledException if no permit became available in time
+     */
+    public void acquire(Priority priority) {
+        EmployeeApiProperties.Limiter settings = apiProperties.getLimiter();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Duration maxWait = priority == Priority.BACKGROUND ? Duration.ZERO : settings.getMaxWait();
+        lock.lock();
+        waiting[priority.ordinal()]++;
+        try {
+            Instant deadline = clock.instant().plus(maxWait);
+            while (true) {
+                Instant now = clock.instant();
+                refillIfDue(now);
+                if (canTake(priority, settings)) {
+                    take(now);
+                    return;
+                }
+                // Until the refill, only a permit freed by a higher-priority waiter giving up can wake us.
+                Instant wakeAt = permits == 0 && refillAt.isBefore(deadline) ? refillAt : deadline;
+                if (!now.isBefore(deadline) || (permits == 0 && refillAt.isAfter(deadline))) {
+                    rejected.incrementAndGet();
+                    throw new UpstreamThrottledException(retryHint(now));
+                }
+                permitsChanged.await(Math.max(1, Duration.between(now, wakeAt).toNanos()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamThrottledException(retryHint(clock.instant()));
+        } finally {
+            waiting[priority.ordinal()]--;
+            permitsChanged.signalAll();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit only if one is free right now for this priority.
+     */
+    public boolean tryAcquire(Priority priority) {
+        EmployeeApiProperties.Limiter settings = apiProperties.getLimiter();
+        if (!settings.isEnabled()) {
+            return true;
+        }
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            refillIfDue(now);
+            if (canTake(priority, settings)) {
+                take(now);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a response the upstream counted against its budget, i.e. anything but a 429.
+     */
+    public void onResponse() {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            acceptedInWindow++;
+            lastAccepted = now;
+            if (permits == 0 && !throttledInWindow) {
+                // The upstream's backoff runs from its last counted request, which may be later than our last permit.
+                refillAt = now.plus(window);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the permit of a request the upstream answered without counting it against its budget, i.e. a 304.
+     */
+    public void refund() {
+        if (!apiProperties.getLimiter().isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (permits < budget) {
+                permits++;
+                permitsChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onThrottled(Optional<Duration> retryAfter) {
+        throttled.incrementAndGet();
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            if (!throttledInWindow) {
+                throttledInWindow = true;
+                if (acceptedInWindow == 0) {
+                    Duration maxWindow = apiProperties.getLimiter().getMaxWindow();
+                    window = min(window.plus(window.dividedBy(2)), maxWindow);
+                    log.info("Upstream still locked out after refill; lockout window now assumed to be {}.", window);
+                } else {
+                    budget = acceptedInWindow;
+                    budgetLearned = true;
+                    log.info("Upstream throttled after {} requests; budget set to {} per {}.", budget, budget, window);
+                }
+            }
+            permits = 0;
+            Instant lockoutEnds = lastAccepted == null ? now.plus(window) : lastAccepted.plus(window);
+            refillAt = retryAfter.map(now::plus).orElse(lockoutEnds.isAfter(now) ? lockoutEnds : now.plus(window));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int budget() {
+        lock.lock();
+        try {
+            return budget;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Time until the next refill if no permit is left, otherwise zero.
+     */
+    public Duration timeUntilRefill() {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            refillIfDue(now);
+            return permits > 0 ? Duration.ZERO : Duration.between(now, refillAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int availablePermits() {
+        lock.lock();
+        try {
+            refillIfDue(clock.instant());
+            return permits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Calls refused locally instead of being sent to the upstream.
+     */
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * 429 responses received from the upstream.
+     */
+    public long throttledCount() {
+        return throttled.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.upstream.limiter.budget", this, UpstreamLimiter::budget)
+                .register(registry);
+        Gauge.builder("employee.upstream.limiter.permits", this, UpstreamLimiter::availablePermits)
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.limiter.rejected", this, UpstreamLimiter::rejectedCount)
+                .register(registry);
+        // 429s are counted by UpstreamGateway, per operation.
+    }
+
+    private boolean canTake(Priority priority, EmployeeApiProperties.Limiter settings) {
+        int reserve = priority == Priority.BACKGROUND ? settings.getReservedPermits() : 0;
+        if (permits <= reserve) {
+            return false;
+        }
+        for (int higher = 0; higher < priority.ordinal(); higher++) {
+            if (waiting[higher] > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void take(Instant now) {
+        permits--;
+        if (permits == 0) {
+            refillAt = now.plus(window);
+        }
+    }
+
+    private void refillIfDue(Instant now) {
+        if (permits > 0 || now.isBefore(refillAt)) {
+            return;
+        }
+        if (!budgetLearned && !throttledInWindow && acceptedInWindow >= budget) {
+            budget++;
+        }
+        permits = budget;
+        acceptedInWindow = 0;
+        throttledInWindow = false;
+        permitsChanged.signalAll();
+    }
+
+    private Duration retryHint(Instant now) {
+        Duration hint = permits == 0 ? Duration.between(now, refillAt) : window;
+        return hint.compareTo(MIN_RETRY_AFTER) < 0 ? MIN_RETRY_AFTER : hint;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.api.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The upstream calls this service makes, used to tag metrics and decide what may be retried.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UpstreamOperation {
+    LIST("list", true),
+    BY_ID("by-id", true),
+    CHANGES("changes", true),
+    // Neither write is idempotent upstream: a repeated POST creates a second employee and a repeated DELETE removes
+    // the next namesake, so they are only retried when the upstream refused them outright with 429.
+    CREATE("create", false),
+    DELETE("delete", false);
+
+    private final String tag;
+    private final boolean idempotent;
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+
+/**
+ * Percentile-histogram timers for calls sent upstream, one per operation and response status. A status of
+ * {@code IO_ERROR} means no response arrived. Calls made before a registry is bound are not recorded.
+ */
+class UpstreamTimers {
+
+    static final String NAME = "employee.upstream.requests";
+    private static final int IO_ERROR = -1;
+
+    private final Map<UpstreamOperation, Map<Integer, Timer>> timers = new EnumMap<>(UpstreamOperation.class);
+    private volatile MeterRegistry registry;
+
+    UpstreamTimers() {
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            timers.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param status the response status, or a negative number when there was no response
+     * @param sent the {@link System#nanoTime()} at which the call was sent
+     */
+    void record(UpstreamOperation operation, int status, long sent) {
+        final MeterRegistry current = registry;
+        if (current == null) {
+            return;
+        }
+        timers.get(operation)
+                .computeIfAbsent(Math.max(status, IO_ERROR), code -> register(current, operation, code))
+                .record(System.nanoTime() - sent, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer register(MeterRegistry registry, UpstreamOperation operation, int status) {
+        return Timer.builder(NAME)
+                .description("Calls sent to the upstream, by operation and response status")
+                .tag("operation", operation.getTag())
+                .tag("status", status == IO_ERROR ? "IO_ERROR" : String.valueOf(status))
+                .tag(
+                        "outcome",
+                        status == IO_ERROR
+                                ? Outcome.UNKNOWN.name()
+                                : Outcome.forStatus(status).name())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
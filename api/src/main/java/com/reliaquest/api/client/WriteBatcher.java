@@ -0,0 +1,143 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces writes submitted within {@code batch.window} of the first one into a single call of {@code flush}, which
+ * must return one result per item in the same order. A batch that reaches {@code batch.max-size} is flushed at once on
+ * the thread that filled it; otherwise the flush runs on this batcher's own thread when the window closes.
+ */
+@Slf4j
+public class WriteBatcher<I, R> implements AutoCloseable {
+
+    private final Supplier<EmployeeApiProperties.Batch> settings;
+    private final Function<List<I>, List<R>> flush;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Batch<I, R> current = new Batch<>();
+
+    public WriteBatcher(String name, Supplier<EmployeeApiProperties.Batch> settings, Function<List<I>, List<R>> flush) {
+        this.settings = settings;
+        this.flush = flush;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits one write and blocks until the batch it joined has been flushed, rethrowing the flush's exception.
+     */
+    public R execute(I item) {
+        try {
+            return submit(item).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CompletableFuture<R> submit(I item) {
+        EmployeeApiProperties.Batch batchSettings = settings.get();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Batch<I, R> full = null;
+        lock.lock();
+        try {
+            Batch<I, R> batch = current;
+            batch.items.add(item);
+            batch.results.add(result);
+            if (batch.items.size() == 1) {
+                scheduler.schedule(() -> flush(batch), batchSettings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (batch.items.size() >= batchSettings.getMaxSize()) {
+                current = new Batch<>();
+                full = batch;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            flush(full);
+        }
+        return result;
+    }
+
+    /**
+     * Stops this batcher's thread. Writes still waiting for their window to close fail rather than wait forever.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        Batch<I, R> pending = take(current);
+        if (pending != null) {
+            pending.results.forEach(
+                    result -> result.completeExceptionally(new IllegalStateException("Write batcher is closed")));
+        }
+    }
+
+    /*
+     * Claims a batch for flushing, or returns null when it has already been claimed.
+     */
+    private Batch<I, R> take(Batch<I, R> batch) {
+        lock.lock();
+        try {
+            if (current == batch) {
+                current = new Batch<>();
+            }
+            if (batch.flushed) {
+                return null;
+            }
+            batch.flushed = true;
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(Batch<I, R> batch) {
+        if (take(batch) == null) {
+            return;
+        }
+        try {
+            List<R> results = flush.apply(batch.items);
+            if (results.size() != batch.items.size()) {
+                throw new IllegalStateException(
+                        "Batch of " + batch.items.size() + " writes returned " + results.size() + " results");
+            }
+            for (int i = 0; i < results.size(); i++) {
+                batch.results.get(i).complete(results.get(i));
+            }
+        } catch (Throwable ex) {
+            // Errors too, or the writers waiting on this batch would never be released.
+            log.warn("Batch of {} writes failed: {}", batch.items.size(), ex.getMessage());
+            batch.results.forEach(result -> result.completeExceptionally(ex));
+            if (ex instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private static class Batch<I, R> {
+        final List<I> items = new ArrayList<>();
+        final List<CompletableFuture<R>> results = new ArrayList<>();
+        boolean flushed;
+    }
+}
@@ -1,27 +1,72 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.service.impl.EmployeeServiceImpl;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Slf4j
+@ConditionalOnProperty(prefix = "employee-api", name = "stack", havingValue = "blocking", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController<Employee, Map<String, Object>> {
 
     @Autowired
     private EmployeeServiceImpl employeeService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
         return new ResponseEntity<>(employeeService.getAllEmployees(), HttpStatus.OK);
     }
 
+    /**
+     * Keyset page of the roster in id order; pass the returned {@code next_cursor} as {@code after} for the next page.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<EmployeePage> getEmployeesPage(
+            @RequestParam int limit, @RequestParam(required = false) String after) {
+        return new ResponseEntity<>(employeeService.getEmployeesPage(after, limit), HttpStatus.OK);
+    }
+
+    /**
+     * The roster as newline-delimited JSON for clients that ask for it, written one employee at a time.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        List<Employee> employees = employeeService.getAllEmployees();
+        ObjectWriter writer =
+                objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                for (Employee employee : employees) {
+                    writer.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                }
+            }
+        });
+    }
+
     @Override
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
         return new ResponseEntity<>(employeeService.getEmployeesByNameSearch(searchString), HttpStatus.OK);
@@ -42,13 +87,28 @@ public class EmployeeController implements IEmployeeController<Employee, Map<Str
         return new ResponseEntity<>(employeeService.getTopTenHighestEarningEmployeeNames(), HttpStatus.OK);
     }
 
+    @GetMapping("/topNHighestEarning")
+    public ResponseEntity<List<String>> getTopNHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int n) {
+        return new ResponseEntity<>(employeeService.getTopNHighestEarningEmployeeNames(n), HttpStatus.OK);
+    }
+
     @Override
     public ResponseEntity<Employee> createEmployee(Map<String, Object> employeeInput) {
         return new ResponseEntity<>(employeeService.createEmployee(employeeInput), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<Employee>> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs) {
+        return new ResponseEntity<>(employeeService.createEmployees(employeeInputs), HttpStatus.CREATED);
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         return new ResponseEntity<>(employeeService.deleteEmployee(id), HttpStatus.OK);
     }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<String>> deleteEmployeesById(@RequestBody List<String> ids) {
+        return new ResponseEntity<>(employeeService.deleteEmployees(ids), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,98 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.service.impl.ReactiveEmployeeServiceImpl;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the {@link IEmployeeController} paths and payloads from {@link ReactiveEmployeeServiceImpl}. It cannot
+ * implement that interface because every result is wrapped in a {@link Mono}.
+ */
+@RestController
+@Slf4j
+@ConditionalOnProperty(prefix = "employee-api", name = "stack", havingValue = "reactive")
+public class ReactiveEmployeeController {
+
+    @Autowired
+    private ReactiveEmployeeServiceImpl employeeService;
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployees().collectList().map(ResponseEntity::ok);
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<EmployeePage>> getEmployeesPage(
+            @RequestParam int limit, @RequestParam(required = false) String after) {
+        return employeeService.getEmployeesPage(after, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService
+                .getEmployeesByNameSearch(searchString)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService.getEmployeeById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployee().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topNHighestEarning")
+    public Mono<ResponseEntity<List<String>>> getTopNHighestEarningEmployeeNames(
+            @RequestParam(defaultValue = "10") int n) {
+        return employeeService.getTopNHighestEarningEmployeeNames(n).map(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody Map<String, Object> employeeInput) {
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(employee -> new ResponseEntity<>(employee, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<Employee>>> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs) {
+        return employeeService
+                .createEmployees(employeeInputs)
+                .map(employees -> new ResponseEntity<>(employees, HttpStatus.CREATED));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService.deleteEmployee(id).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/batch")
+    public Mono<ResponseEntity<List<String>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        return employeeService.deleteEmployees(ids).map(ResponseEntity::ok);
+    }
+}
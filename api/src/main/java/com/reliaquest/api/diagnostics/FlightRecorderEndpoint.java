@@ -0,0 +1,157 @@
+package com.reliaquest.api.diagnostics;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts, stops and dumps a JDK Flight Recorder recording on demand at {@code /actuator/jfr}: {@code POST} starts one,
+ * {@code GET} downloads what it has recorded so far and {@code DELETE} stops it. A stopped recording can still be
+ * downloaded until the next one is started. The endpoint is unauthenticated, so it only exists when
+ * {@code employee-api.diagnostics.jfr} is set, as the {@code jfr} profile does.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "employee-api.diagnostics", name = "jfr", havingValue = "true")
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint implements DisposableBean {
+
+    private static final String RECORDING_NAME = "employee-api";
+    private static final String DEFAULT_SETTINGS = "default";
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(15);
+
+    // Guarded by this.
+    private Recording recording;
+
+    /**
+     * @param settings a JFR configuration: {@code default}, which is cheap enough to leave on, or {@code profile}
+     * @param maxAge how much of the recording to keep; older data is discarded while it runs
+     */
+    @WriteOperation
+    public synchronized RecordingSummary start(String settings, Duration maxAge) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return RecordingSummary.of(recording);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+        } catch (IOException | ParseException ex) {
+            throw new InvalidEndpointRequestException(
+                    "Unknown recording settings " + settings, "Unknown recording settings");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge != null ? maxAge : DEFAULT_MAX_AGE);
+        started.start();
+        recording = started;
+        log.info("Started flight recording {} with {} settings.", started.getId(), configuration.getName());
+        return RecordingSummary.of(started);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null
+                || (recording.getState() != RecordingState.RUNNING && recording.getState() != RecordingState.STOPPED)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return new WebEndpointResponse<>(new TemporaryFileSystemResource(file.toFile()));
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<RecordingSummary> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        recording.stop();
+        log.info("Stopped flight recording {}.", recording.getId());
+        return new WebEndpointResponse<>(RecordingSummary.of(recording));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * @param size bytes recorded so far
+     */
+    public record RecordingSummary(
+            long id, String name, String state, Instant startTime, Instant stopTime, Duration maxAge, long size) {
+
+        static RecordingSummary of(Recording recording) {
+            return new RecordingSummary(
+                    recording.getId(),
+                    recording.getName(),
+                    recording.getState().name(),
+                    recording.getStartTime(),
+                    recording.getStopTime(),
+                    recording.getMaxAge(),
+                    recording.getSize());
+        }
+    }
+
+    /*
+     * A dump is only ever read once, so its file is deleted as soon as the download has been read.
+     */
+    private static class TemporaryFileSystemResource extends FileSystemResource {
+
+        TemporaryFileSystemResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Read through the stream above rather than transferred straight from the file.
+            return false;
+        }
+    }
+}
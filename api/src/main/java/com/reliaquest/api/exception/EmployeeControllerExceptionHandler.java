@@ -1,5 +1,6 @@
 package com.reliaquest.api.exception;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -7,6 +8,7 @@ import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
 
 @RestControllerAdvice
@@ -19,18 +21,35 @@ public class EmployeeControllerExceptionHandler {
         return buildErrorResponse(HttpStatus.valueOf(ex.getStatusCode().value()), ex.getReason());
     }
 
-    @ExceptionHandler(HttpClientErrorException.TooManyRequests.class)
-    public ResponseEntity<Map<String, Object>> handleTooManyRequests(HttpClientErrorException.TooManyRequests ex) {
+    @ExceptionHandler({HttpClientErrorException.TooManyRequests.class, WebClientResponseException.TooManyRequests.class
+    })
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(Exception ex) {
         log.warn("Rate limit exceeded: {}", ex.getMessage());
         return buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded. Please try again later.");
     }
 
-    @ExceptionHandler(HttpClientErrorException.NotFound.class)
-    public ResponseEntity<Map<String, Object>> handleNotFound(HttpClientErrorException.NotFound ex) {
+    @ExceptionHandler({HttpClientErrorException.NotFound.class, WebClientResponseException.NotFound.class})
+    public ResponseEntity<Map<String, Object>> handleNotFound(Exception ex) {
         log.warn("Resource not found: {}", ex.getMessage());
         return buildErrorResponse(HttpStatus.NOT_FOUND, "Requested resource was not found.");
     }
 
+    @ExceptionHandler(UpstreamThrottledException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamThrottled(UpstreamThrottledException ex) {
+        log.warn("Upstream call refused locally: {}", ex.getMessage());
+        return buildRetryLaterResponse(
+                HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded. Please try again later.", ex.getRetryAfter());
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+        log.warn("Upstream call refused locally: {}", ex.getMessage());
+        return buildRetryLaterResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Employee service is unavailable. Please try again later.",
+                ex.getRetryAfter());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, Object> errorMap = new HashMap<>();
@@ -47,10 +66,22 @@ public class EmployeeControllerExceptionHandler {
     }
 
     private ResponseEntity<Map<String, Object>> buildErrorResponse(HttpStatus status, String message) {
+        return new ResponseEntity<>(errorBody(status, message), status);
+    }
+
+    private ResponseEntity<Map<String, Object>> buildRetryLaterResponse(
+            HttpStatus status, String message, Duration retryAfter) {
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorBody(status, message));
+    }
+
+    private Map<String, Object> errorBody(HttpStatus status, String message) {
         Map<String, Object> error = new HashMap<>();
         error.put("status", status.value());
         error.put("error", status.getReasonPhrase());
         error.put("message", message);
-        return new ResponseEntity<>(error, status);
+        return error;
     }
 }
@@ -0,0 +1,13 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling the upstream when its request budget is known to be spent.
+ */
+public class UpstreamThrottledException extends UpstreamUnavailableException {
+
+    public UpstreamThrottledException(Duration retryAfter) {
+        super("Upstream request budget exhausted; retry after " + retryAfter.toSeconds() + "s", retryAfter);
+    }
+}
@@ -0,0 +1,247 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Case-insensitive substring index over employee names. Names are case-folded once when they enter the index, and
+ * every trigram of a folded name maps to a sorted posting list of slots. A query intersects the posting lists of its
+ * own trigrams and confirms each candidate with {@code contains}. Queries shorter than a trigram fall back to a scan
+ * of the pre-folded names.
+ *
+ * <p>Slots follow roster order: new employees are appended and a replaced one keeps its slot, so results come back in
+ * roster order. Removing an employee leaves a tombstone; the index is compacted when tombstones outnumber live
+ * entries.
+ *
+ * <p>Not thread-safe; {@code RosterSnapshot} guards access.
+ */
+public class NameSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_COMPACTION = 64;
+
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<UUID, Integer> slotsById = new HashMap<>();
+    private Employee[] employees;
+    private String[] folded;
+    private int slots;
+    private int removed;
+
+    private NameSearchIndex(int capacity) {
+        employees = new Employee[capacity];
+        folded = new String[capacity];
+    }
+
+    public static NameSearchIndex of(List<Employee> roster) {
+        NameSearchIndex index = new NameSearchIndex(Math.max(16, roster.size()));
+        for (Employee employee : roster) {
+            index.append(employee);
+        }
+        return index;
+    }
+
+    public List<Employee> search(String query) {
+        String needle = fold(query);
+        List<Employee> matches = new ArrayList<>();
+        if (needle.length() < GRAM) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (employees[slot] != null && folded[slot].contains(needle)) {
+                    matches.add(employees[slot]);
+                }
+            }
+            return matches;
+        }
+
+        int[] candidates = candidates(needle);
+        for (int slot : candidates) {
+            if (employees[slot] != null && folded[slot].contains(needle)) {
+                matches.add(employees[slot]);
+            }
+        }
+        return matches;
+    }
+
+    public void add(Employee employee) {
+        append(employee);
+    }
+
+    /**
+     * Swaps in a new version of an indexed employee, in the slot of the version it replaces.
+     *
+     * @return false when no employee with this id is indexed
+     */
+    public boolean replace(Employee employee) {
+        Integer slot = slotsById.get(employee.getId());
+        if (slot == null) {
+            return false;
+        }
+        String previous = folded[slot];
+        String name = fold(employee.getName());
+        employees[slot] = employee;
+        folded[slot] = name;
+        if (!name.equals(previous)) {
+            for (int i = 0; i + GRAM <= previous.length(); i++) {
+                IntList posting = postings.get(trigram(previous, i));
+                if (posting != null) {
+                    posting.remove(slot);
+                }
+            }
+            for (int i = 0; i + GRAM <= name.length(); i++) {
+                postings.computeIfAbsent(trigram(name, i), ignored -> new IntList())
+                        .insert(slot);
+            }
+        }
+        return true;
+    }
+
+    public boolean remove(UUID id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        employees[slot] = null;
+        folded[slot] = null;
+        removed++;
+        if (removed >= MIN_COMPACTION && removed > slots - removed) {
+            compact();
+        }
+        return true;
+    }
+
+    public int size() {
+        return slots - removed;
+    }
+
+    private void append(Employee employee) {
+        if (slots == employees.length) {
+            int capacity = slots + (slots >> 1) + 1;
+            employees = Arrays.copyOf(employees, capacity);
+            folded = Arrays.copyOf(folded, capacity);
+        }
+        int slot = slots++;
+        String name = fold(employee.getName());
+        employees[slot] = employee;
+        folded[slot] = name;
+        if (employee.getId() != null) {
+            slotsById.put(employee.getId(), slot);
+        }
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            IntList posting = postings.computeIfAbsent(trigram(name, i), ignored -> new IntList());
+            // A name repeating a trigram would otherwise list its slot twice.
+            if (posting.last() != slot) {
+                posting.add(slot);
+            }
+        }
+    }
+
+    private int[] candidates(String needle) {
+        int gramCount = needle.length() - GRAM + 1;
+        IntList[] lists = new IntList[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            IntList posting = postings.get(trigram(needle, i));
+            if (posting == null) {
+                return new int[0];
+            }
+            lists[i] = posting;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = Arrays.copyOf(lists[0].values, lists[0].size);
+        int length = result.length;
+        for (int i = 1; i < lists.length && length > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                length = intersect(result, length, lists[i]);
+            }
+        }
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    // Keeps in result[0, length) only the slots also present in other; both are sorted ascending.
+    private static int intersect(int[] result, int length, IntList other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < length && j < other.size; ) {
+            if (result[i] == other.values[j]) {
+                result[kept++] = result[i++];
+                j++;
+            } else if (result[i] < other.values[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return kept;
+    }
+
+    private void compact() {
+        Employee[] live = new Employee[slots - removed];
+        int count = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (employees[slot] != null) {
+                live[count++] = employees[slot];
+            }
+        }
+        postings.clear();
+        slotsById.clear();
+        employees = new Employee[Math.max(16, live.length)];
+        folded = new String[employees.length];
+        slots = 0;
+        removed = 0;
+        for (Employee employee : live) {
+            append(employee);
+        }
+    }
+
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        int last() {
+            return size == 0 ? -1 : values[size - 1];
+        }
+
+        // Adds value at its sorted position, unless it is already listed.
+        void insert(int value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+        }
+
+        void remove(int value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Employees ordered by salary, highest first, held as a primitive {@code int[]} with a parallel {@code Employee[]}.
+ * Employees with equal salaries keep their roster order. The highest salary and top-ten names are precomputed after
+ * every change so reads are constant time.
+ *
+ * <p>Not thread-safe; {@code RosterSnapshot} serializes writers.
+ */
+public class SalaryIndex {
+
+    public static final int TOP_TEN = 10;
+
+    private int[] salaries;
+    private Employee[] employees;
+    private int size;
+
+    private volatile int highest;
+    private volatile List<String> topTen;
+
+    private SalaryIndex(int[] salaries, Employee[] employees, int size) {
+        this.salaries = salaries;
+        this.employees = employees;
+        this.size = size;
+        recompute();
+    }
+
+    public static SalaryIndex of(List<Employee> roster) {
+        int count = roster.size();
+        // Sort (salary desc, position asc) as one primitive key: the inverted salary fills the upper 32 bits
+        // unsigned, the roster position the lower 32. Flipping the sign bit makes a signed sort order it unsigned.
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            long inverted = (long) Integer.MAX_VALUE - salaryOf(roster.get(i));
+            keys[i] = ((inverted << 32) | i) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(keys);
+
+        int[] salaries = new int[count];
+        Employee[] employees = new Employee[count];
+        for (int i = 0; i < count; i++) {
+            Employee employee = roster.get((int) (keys[i] & 0xFFFFFFFFL));
+            salaries[i] = salaryOf(employee);
+            employees[i] = employee;
+        }
+        return new SalaryIndex(salaries, employees, count);
+    }
+
+    public int highest() {
+        return highest;
+    }
+
+    public List<String> topTenNames() {
+        return topTen;
+    }
+
+    public List<String> topNames(int n) {
+        if (n <= TOP_TEN) {
+            return topTen.subList(0, Math.min(n, topTen.size()));
+        }
+        return names(Math.min(n, size));
+    }
+
+    public void add(Employee employee) {
+        int salary = salaryOf(employee);
+        if (size == salaries.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            salaries = Arrays.copyOf(salaries, capacity);
+            employees = Arrays.copyOf(employees, capacity);
+        }
+        // After any equal salaries, so a new hire ranks behind existing employees on a tie.
+        int position = firstBelow(salary);
+        System.arraycopy(salaries, position, salaries, position + 1, size - position);
+        System.arraycopy(employees, position, employees, position + 1, size - position);
+        salaries[position] = salary;
+        employees[position] = employee;
+        size++;
+        recompute();
+    }
+
+    public boolean remove(Employee employee) {
+        int salary = salaryOf(employee);
+        UUID id = employee.getId();
+        for (int i = firstAtOrBelow(salary); i < size && salaries[i] == salary; i++) {
+            if (Objects.equals(employees[i].getId(), id)) {
+                System.arraycopy(salaries, i + 1, salaries, i, size - i - 1);
+                System.arraycopy(employees, i + 1, employees, i, size - i - 1);
+                employees[--size] = null;
+                recompute();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void recompute() {
+        highest = size == 0 ? 0 : salaries[0];
+        topTen = names(Math.min(TOP_TEN, size));
+    }
+
+    private List<String> names(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(employees[i].getName());
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    // First position whose salary is strictly lower than the given one.
+    private int firstBelow(int salary) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose salary is lower than or equal to the given one.
+    private int firstAtOrBelow(int salary) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int salaryOf(Employee employee) {
+        return employee.getSalary() == null ? 0 : employee.getSalary();
+    }
+}
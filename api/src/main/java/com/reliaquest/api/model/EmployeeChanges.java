@@ -0,0 +1,45 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.OptionalLong;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The upstream's creates and deletes after some sequence number, oldest first; {@code latestSeq} is the roster version
+ * they lead up to.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChanges {
+    private List<EmployeeChange> changes;
+
+    @JsonProperty("latest_seq")
+    private long latestSeq;
+
+    public static String eTagOf(long seq) {
+        return "\"" + seq + "\"";
+    }
+
+    /**
+     * The change sequence number the upstream tags its roster with, or empty for an {@code ETag} it did not mint that
+     * way.
+     */
+    public static OptionalLong sequenceOf(String eTag) {
+        if (eTag == null) {
+            return OptionalLong.empty();
+        }
+        String opaque = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        if (opaque.length() < 3 || opaque.charAt(0) != '"' || opaque.charAt(opaque.length() - 1) != '"') {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(opaque.substring(1, opaque.length() - 1)));
+        } catch (NumberFormatException ex) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.reliaquest.api.model;
 
 import jakarta.validation.constraints.*;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,4 +24,16 @@ public class EmployeeInput {
 
     @NotBlank
     private String title;
+
+    /**
+     * Reads the loosely typed request body accepted by {@code EmployeeController#createEmployee}.
+     */
+    public static EmployeeInput from(Map<String, Object> inputMap) {
+        EmployeeInput input = new EmployeeInput();
+        input.setName((String) inputMap.get("name"));
+        input.setSalary(Integer.parseInt((String) inputMap.get("salary")));
+        input.setAge(Integer.parseInt((String) inputMap.get("age")));
+        input.setTitle((String) inputMap.get("title"));
+        return input;
+    }
 }
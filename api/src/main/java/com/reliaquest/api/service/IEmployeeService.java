@@ -1,6 +1,7 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
@@ -9,6 +10,8 @@ public interface IEmployeeService {
 
     List<Employee> getAllEmployees() throws IOException;
 
+    EmployeePage getEmployeesPage(String after, int limit);
+
     List<Employee> getEmployeesByNameSearch(String searchString);
 
     Employee getEmployeeById(String id);
@@ -17,7 +20,13 @@ public interface IEmployeeService {
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    List<String> getTopNHighestEarningEmployeeNames(int n);
+
     Employee createEmployee(Map<String, Object> employeeInput);
 
+    List<Employee> createEmployees(List<Map<String, Object>> employeeInputs);
+
     String deleteEmployee(String id);
+
+    List<String> deleteEmployees(List<String> ids);
 }
@@ -0,0 +1,36 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link IEmployeeService}, with the same operations and results.
+ */
+public interface IReactiveEmployeeService {
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<EmployeePage> getEmployeesPage(String after, int limit);
+
+    Flux<Employee> getEmployeesByNameSearch(String searchString);
+
+    Mono<Employee> getEmployeeById(String id);
+
+    Mono<Integer> getHighestSalaryOfEmployee();
+
+    Mono<List<String>> getTopTenHighestEarningEmployeeNames();
+
+    Mono<List<String>> getTopNHighestEarningEmployeeNames(int n);
+
+    Mono<Employee> createEmployee(Map<String, Object> employeeInput);
+
+    Mono<List<Employee>> createEmployees(List<Map<String, Object>> employeeInputs);
+
+    Mono<String> deleteEmployee(String id);
+
+    Mono<List<String>> deleteEmployees(List<String> ids);
+}
@@ -1,24 +1,44 @@
 package com.reliaquest.api.service.impl;
 
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterFetch;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.EmployeeStreamReader;
+import com.reliaquest.api.client.KeyRange;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.client.UpstreamGateway;
+import com.reliaquest.api.client.UpstreamLimiter.Priority;
+import com.reliaquest.api.client.UpstreamOperation;
+import com.reliaquest.api.client.WriteBatcher;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import com.reliaquest.api.model.*;
 import com.reliaquest.api.service.IEmployeeService;
 import com.reliaquest.api.utils.EmployeeApiProperties;
+import com.reliaquest.api.utils.EmployeeApiProperties.Lookup.Consistency;
 import java.net.URI;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
 @Slf4j
-public class EmployeeServiceImpl implements IEmployeeService {
+@ConditionalOnProperty(prefix = "employee-api", name = "stack", havingValue = "blocking", matchIfMissing = true)
+public class EmployeeServiceImpl implements IEmployeeService, DisposableBean {
 
     @Autowired
     private RestTemplate restTemplate;
@@ -26,89 +46,463 @@ public class EmployeeServiceImpl implements IEmployeeService {
     @Autowired
     private EmployeeApiProperties apiProperties;
 
-    @Cacheable("employees")
+    @Autowired
+    private EmployeeRosterCache rosterCache;
+
+    @Autowired
+    private UpstreamGateway upstreamGateway;
+
+    private final SingleFlight<String, Employee> employeeByIdCalls = new SingleFlight<>();
+    private final WriteBatcher<EmployeeInput, Employee> createBatcher =
+            new WriteBatcher<>("employee-create-batch", () -> apiProperties.getBatch(), this::createAll);
+    private final WriteBatcher<Employee, Boolean> deleteBatcher =
+            new WriteBatcher<>("employee-delete-batch", () -> apiProperties.getBatch(), this::deleteAll);
+    // Created on first use, with one thread per pagination partition; guarded by this.
+    private ThreadPoolExecutor pageFetches;
+
     public List<Employee> getAllEmployees() {
-        log.info("Fetching all employees from external API.");
-        URI uri = URI.create(apiProperties.getBaseUrl() + apiProperties.getAllEmployeeEndpoint());
-        ResponseEntity<EmployeeList> response = restTemplate.exchange(uri, HttpMethod.GET, null, EmployeeList.class);
-        if (response.getBody() == null) {
-            throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
-        }
-        return response.getBody().getData();
+        return roster().getEmployees();
     }
 
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        return getAllEmployees().stream()
-                .filter(emp -> emp.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList());
+        return roster().searchByName(searchString);
+    }
+
+    public EmployeePage getEmployeesPage(String after, int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be a positive number");
+        }
+        UUID cursor = null;
+        if (after != null) {
+            cursor = parseId(after)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "after must be an id"));
+        }
+        return roster().page(cursor, limit);
     }
 
     public Employee getEmployeeById(String id) {
-        URI uri = URI.create(apiProperties.getBaseUrl()
-                + apiProperties.getEmployeeByIdEndpoint().replace("{id}", id));
-        ResponseEntity<ApiResponse<Employee>> response =
-                restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
-        if (response.getBody() == null || response.getBody().getData() == null) {
-            log.warn("No employee found or null response for ID: {}", id);
-            throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        // Answered here, as the upstream fails a malformed id with a 500 that would be retried and trip the breaker.
+        UUID uuid = parseId(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No employee has this id"));
+        if (apiProperties.getLookup().getConsistency() == Consistency.LOCAL_FIRST) {
+            Optional<Employee> cached = rosterCache.peek().flatMap(snapshot -> snapshot.findById(uuid));
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        try {
+            Employee employee = employeeByIdCalls.execute(id, () -> fetchEmployeeById(id));
+            // The upstream's copy wins over a local one, which may predate a change made elsewhere.
+            rosterCache.update(snapshot -> snapshot.put(employee));
+            return employee;
+        } catch (HttpClientErrorException.NotFound ex) {
+            rosterCache.update(snapshot -> snapshot.remove(uuid));
+            throw ex;
+        } catch (UpstreamUnavailableException ex) {
+            // Under upstream-verify, an unverified local answer still beats none while the upstream is out.
+            return findLocally(uuid).orElseThrow(() -> ex);
         }
-        return response.getBody().getData();
+    }
+
+    /**
+     * Number of {@link #getEmployeeById} calls that shared another caller's in-flight upstream request.
+     */
+    public long getCoalescedEmployeeByIdCalls() {
+        return employeeByIdCalls.coalescedCount();
     }
 
     public Integer getHighestSalaryOfEmployee() {
-        return getAllEmployees().stream()
-                .max(Comparator.comparing(Employee::getSalary))
-                .map(Employee::getSalary)
-                .orElse(0);
+        return roster().highestSalary();
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        return getAllEmployees().stream()
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(10)
-                .map(Employee::getName)
-                .collect(Collectors.toList());
+        return roster().topTenEarnerNames();
+    }
+
+    public List<String> getTopNHighestEarningEmployeeNames(int n) {
+        if (n < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "n must be a positive number");
+        }
+        return roster().topEarnerNames(n);
     }
 
-    @CacheEvict(
-            value = {"employees"},
-            allEntries = true)
     public Employee createEmployee(Map<String, Object> inputMap) {
-        EmployeeInput input = new EmployeeInput();
-        input.setName((String) inputMap.get("name"));
-        input.setSalary(Integer.parseInt((String) inputMap.get("salary")));
-        input.setAge(Integer.parseInt((String) inputMap.get("age")));
-        input.setTitle((String) inputMap.get("title"));
+        EmployeeInput input = EmployeeInput.from(inputMap);
+        if (isBatching()) {
+            return createBatcher.execute(input);
+        }
 
         URI uri = URI.create(apiProperties.getBaseUrl() + apiProperties.getAllEmployeeEndpoint());
-        ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
-                uri, HttpMethod.POST, new HttpEntity<>(input), new ParameterizedTypeReference<>() {});
+        ResponseEntity<ApiResponse<Employee>> response = upstreamGateway.call(
+                UpstreamOperation.CREATE,
+                Priority.WRITE,
+                () -> restTemplate.exchange(
+                        uri, HttpMethod.POST, new HttpEntity<>(input), new ParameterizedTypeReference<>() {}));
         if (response.getBody() == null || response.getBody().getData() == null) {
             log.warn("Unable to create employee");
             throw new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
         }
-        return response.getBody().getData();
+        Employee created = response.getBody().getData();
+        rosterCache.update(snapshot -> snapshot.add(created));
+        return created;
+    }
+
+    public List<Employee> createEmployees(List<Map<String, Object>> inputMaps) {
+        return createAll(inputMaps.stream().map(EmployeeInput::from).toList());
     }
 
-    @CacheEvict(
-            value = {"employees"},
-            allEntries = true)
     public String deleteEmployee(String id) {
-        Employee employee = getEmployeeById(id);
+        Employee employee = resolveEmployee(id);
         if (employee == null) return "Employee does not exist";
+        if (isBatching()) {
+            return deletionMessage(employee, deleteBatcher.execute(employee));
+        }
 
         DeleteEmployeeInput input = new DeleteEmployeeInput();
         input.setName(employee.getName());
 
         URI uri = URI.create(apiProperties.getBaseUrl() + apiProperties.getAllEmployeeEndpoint());
-        ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(
-                uri, HttpMethod.DELETE, new HttpEntity<>(input), new ParameterizedTypeReference<>() {});
-        if (Boolean.TRUE.equals(response.getBody().getData())) {
-            return String.format("Employee %s has been deleted", employee.getName());
+        ResponseEntity<ApiResponse<Boolean>> response = upstreamGateway.call(
+                UpstreamOperation.DELETE,
+                Priority.WRITE,
+                () -> restTemplate.exchange(
+                        uri, HttpMethod.DELETE, new HttpEntity<>(input), new ParameterizedTypeReference<>() {}));
+        if (response.getBody() == null) {
+            log.warn("Unable to delete employee with ID: {}", id);
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        }
+        Boolean deleted = response.getBody().getData();
+        if (Boolean.TRUE.equals(deleted)) {
+            applyDeletes(List.of(employee));
+        }
+        return deletionMessage(employee, deleted);
+    }
+
+    public List<String> deleteEmployees(List<String> ids) {
+        List<Employee> employees = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            employees.add(resolveEmployee(id));
+        }
+        List<Employee> found = employees.stream().filter(Objects::nonNull).toList();
+        Iterator<Boolean> deleted =
+                found.isEmpty() ? Collections.emptyIterator() : deleteAll(found).iterator();
+        List<String> messages = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            messages.add(
+                    employee == null
+                            ? "Employee does not exist"
+                            : deletionMessage(employee, deleted.hasNext() ? deleted.next() : null));
+        }
+        return messages;
+    }
+
+    private boolean isBatching() {
+        return !apiProperties.getBatch().getWindow().isZero();
+    }
+
+    private List<Employee> createAll(List<EmployeeInput> inputs) {
+        URI uri = URI.create(apiProperties.getBaseUrl() + apiProperties.getBatchEndpoint());
+        ResponseEntity<ApiResponse<List<Employee>>> response = upstreamGateway.call(
+                UpstreamOperation.CREATE,
+                Priority.WRITE,
+                () -> restTemplate.exchange(
+                        uri,
+                        HttpMethod.POST,
+                        new HttpEntity<>(new CreateEmployeesInput(inputs)),
+                        new ParameterizedTypeReference<>() {}));
+        if (response.getBody() == null || response.getBody().getData() == null) {
+            log.warn("Unable to create {} employees", inputs.size());
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        }
+        List<Employee> created = response.getBody().getData();
+        rosterCache.update(snapshot -> snapshot.addAll(created));
+        return created;
+    }
+
+    private List<Boolean> deleteAll(List<Employee> employees) {
+        List<DeleteEmployeeInput> inputs = employees.stream()
+                .map(employee -> {
+                    DeleteEmployeeInput input = new DeleteEmployeeInput();
+                    input.setName(employee.getName());
+                    return input;
+                })
+                .toList();
+        URI uri = URI.create(apiProperties.getBaseUrl() + apiProperties.getBatchEndpoint());
+        ResponseEntity<ApiResponse<List<Boolean>>> response = upstreamGateway.call(
+                UpstreamOperation.DELETE,
+                Priority.WRITE,
+                () -> restTemplate.exchange(
+                        uri,
+                        HttpMethod.DELETE,
+                        new HttpEntity<>(new DeleteEmployeesInput(inputs)),
+                        new ParameterizedTypeReference<>() {}));
+        if (response.getBody() == null || response.getBody().getData() == null) {
+            log.warn("Unable to delete {} employees", employees.size());
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        }
+        List<Boolean> deleted = response.getBody().getData();
+        List<Employee> removed = new ArrayList<>();
+        for (int i = 0; i < employees.size() && i < deleted.size(); i++) {
+            if (Boolean.TRUE.equals(deleted.get(i))) {
+                removed.add(employees.get(i));
+            }
+        }
+        applyDeletes(removed);
+        return deleted;
+    }
+
+    /*
+     * The upstream deletes the first employee with a matching name, so with namesakes on the roster we cannot tell
+     * which one went and drop the snapshot instead of patching it.
+     */
+    private void applyDeletes(List<Employee> deleted) {
+        if (deleted.isEmpty()) {
+            return;
+        }
+        boolean ambiguous = rosterCache
+                .peek()
+                .map(snapshot -> deleted.stream().anyMatch(employee -> snapshot.countWithName(employee.getName()) > 1))
+                .orElse(false);
+        if (ambiguous) {
+            rosterCache.invalidate();
+        } else {
+            List<UUID> ids = deleted.stream().map(Employee::getId).toList();
+            rosterCache.update(snapshot -> snapshot.removeAll(ids));
+        }
+    }
+
+    private static String deletionMessage(Employee employee, Boolean deleted) {
+        return Boolean.TRUE.equals(deleted)
+                ? String.format("Employee %s has been deleted", employee.getName())
+                : "Failed to delete employee";
+    }
+
+    /**
+     * Resolves an id from the cached roster regardless of lookup consistency, since a delete only needs the name;
+     * the upstream is asked only when the roster does not hold the id.
+     */
+    private Employee resolveEmployee(String id) {
+        return parseId(id)
+                .flatMap(uuid -> rosterCache.peek().flatMap(snapshot -> snapshot.findById(uuid)))
+                .orElseGet(() -> getEmployeeById(id));
+    }
+
+    private Optional<Employee> findLocally(UUID id) {
+        return rosterCache.peek().or(rosterCache::staleIfError).flatMap(snapshot -> snapshot.findById(id));
+    }
+
+    private RosterSnapshot roster() {
+        return rosterCache.get(() -> fetchAllEmployees(Priority.READ), () -> fetchAllEmployees(Priority.BACKGROUND));
+    }
+
+    /*
+     * Asks about the snapshot already held, if the upstream tagged it, so an unchanged roster comes back as a bodiless
+     * 304 instead of being downloaded and indexed again. With the change feed enabled, a changed one is patched from
+     * the upstream's change log instead, as long as that still reaches back to the snapshot.
+     */
+    private RosterFetch fetchAllEmployees(Priority priority) {
+        log.info("Fetching all employees from external API.");
+        if (apiProperties.getPagination().getPageSize() > 0) {
+            return RosterFetch.of(fetchAllEmployeePages(priority));
+        }
+        Optional<RosterSnapshot> known = rosterCache.revalidationCandidate();
+        if (known.isPresent() && apiProperties.getChanges().isEnabled()) {
+            OptionalLong since = EmployeeChanges.sequenceOf(known.get().getETag());
+            if (since.isPresent()) {
+                Optional<RosterFetch> changed = fetchChanges(known.get(), since.getAsLong(), priority);
+                if (changed.isPresent()) {
+                    return changed.get();
+                }
+            }
+        }
+        URI uri = URI.create(apiProperties.getBaseUrl() + apiProperties.getAllEmployeeEndpoint());
+        HttpHeaders headers = new HttpHeaders();
+        known.ifPresent(snapshot -> headers.setIfNoneMatch(snapshot.getETag()));
+        ResponseEntity<List<Employee>> response;
+        if (apiProperties.getHttp().isStreaming()) {
+            headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+            response = upstreamGateway.call(
+                    UpstreamOperation.LIST,
+                    priority,
+                    () -> restTemplate.execute(
+                            uri,
+                            HttpMethod.GET,
+                            request -> request.getHeaders().addAll(headers),
+                            upstream -> new ResponseEntity<>(
+                                    upstream.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                                            ? null
+                                            : EmployeeStreamReader.read(
+                                                    upstream.getBody(),
+                                                    upstream.getHeaders().getContentType()),
+                                    upstream.getHeaders(),
+                                    upstream.getStatusCode())));
+        } else {
+            ResponseEntity<EmployeeList> enveloped = upstreamGateway.call(
+                    UpstreamOperation.LIST,
+                    priority,
+                    () -> restTemplate.exchange(
+                            uri,
+                            HttpMethod.GET,
+                            known.isPresent() ? new HttpEntity<>(headers) : null,
+                            EmployeeList.class));
+            response = new ResponseEntity<>(
+                    enveloped.getBody() == null ? null : enveloped.getBody().getData(),
+                    enveloped.getHeaders(),
+                    enveloped.getStatusCode());
+        }
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && known.isPresent()) {
+            log.debug("Roster unchanged upstream ({}).", known.get().getETag());
+            return RosterFetch.notModified(known.get());
+        }
+        if (response.getBody() == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        }
+        return RosterFetch.of(response.getBody(), response.getHeaders().getETag());
+    }
+
+    /*
+     * Empty when the upstream answers 410 because its log no longer reaches back to the snapshot, which then has to be
+     * reloaded whole.
+     */
+    private Optional<RosterFetch> fetchChanges(RosterSnapshot known, long since, Priority priority) {
+        URI uri = UriComponentsBuilder.fromUriString(apiProperties.getBaseUrl() + apiProperties.getChangesEndpoint())
+                .queryParam("since", since)
+                .build()
+                .toUri();
+        ResponseEntity<ApiResponse<EmployeeChanges>> response;
+        try {
+            response = upstreamGateway.call(
+                    UpstreamOperation.CHANGES,
+                    priority,
+                    () -> restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<>() {}));
+        } catch (HttpClientErrorException.Gone ex) {
+            log.info("Upstream change log no longer reaches roster version {}; reloading it.", since);
+            return Optional.empty();
+        }
+        if (response.getBody() == null
+                || response.getBody().getData() == null
+                || response.getBody().getData().getChanges() == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        }
+        List<EmployeeChange> changes = response.getBody().getData().getChanges();
+        log.debug("Applying {} upstream roster changes since version {}.", changes.size(), since);
+        return Optional.of(
+                RosterFetch.changed(known, changes, response.getHeaders().getETag()));
+    }
+
+    /*
+     * Each key range is walked page by page along its cursor; with several partitions the ranges are walked
+     * concurrently, every page still passing through the gateway on its own.
+     */
+    private List<Employee> fetchAllEmployeePages(Priority priority) {
+        List<KeyRange> ranges = KeyRange.split(apiProperties.getPagination().getPartitions());
+        if (ranges.size() == 1) {
+            return fetchRange(ranges.get(0), priority);
+        }
+        List<CompletableFuture<List<Employee>>> slices = ranges.stream()
+                .map(range -> CompletableFuture.supplyAsync(() -> fetchRange(range, priority), pageFetches()))
+                .toList();
+        List<Employee> employees = new ArrayList<>();
+        for (CompletableFuture<List<Employee>> slice : slices) {
+            try {
+                employees.addAll(slice.join());
+            } catch (CompletionException ex) {
+                slices.forEach(other -> other.cancel(false));
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        return employees;
+    }
+
+    /*
+     * Loads are single-flighted, so one thread per partition is enough; further slices queue. Idle threads exit.
+     */
+    private synchronized ExecutorService pageFetches() {
+        if (pageFetches == null) {
+            int threads = Math.max(1, apiProperties.getPagination().getPartitions());
+            pageFetches = new ThreadPoolExecutor(
+                    threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "employee-page-fetch");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pageFetches.allowCoreThreadTimeOut(true);
+        }
+        return pageFetches;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        createBatcher.close();
+        deleteBatcher.close();
+        if (pageFetches != null) {
+            pageFetches.shutdownNow();
+        }
+    }
+
+    private List<Employee> fetchRange(KeyRange range, Priority priority) {
+        List<Employee> employees = new ArrayList<>();
+        UUID after = range.after();
+        do {
+            EmployeePage page = fetchPage(after, range.before(), priority);
+            employees.addAll(page.getEmployees());
+            after = page.getNextCursor();
+        } while (after != null);
+        return employees;
+    }
+
+    private EmployeePage fetchPage(UUID after, UUID before, Priority priority) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(
+                        apiProperties.getBaseUrl() + apiProperties.getAllEmployeeEndpoint())
+                .queryParam("limit", apiProperties.getPagination().getPageSize());
+        if (after != null) {
+            builder.queryParam("after", after);
+        }
+        if (before != null) {
+            builder.queryParam("before", before);
+        }
+        URI uri = builder.build().toUri();
+        ResponseEntity<ApiResponse<EmployeePage>> response = upstreamGateway.call(
+                UpstreamOperation.LIST,
+                priority,
+                () -> restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<>() {}));
+        if (response.getBody() == null
+                || response.getBody().getData() == null
+                || response.getBody().getData().getEmployees() == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        }
+        return response.getBody().getData();
+    }
+
+    private Employee fetchEmployeeById(String id) {
+        URI uri = UriComponentsBuilder.fromUriString(
+                        apiProperties.getBaseUrl() + apiProperties.getEmployeeByIdEndpoint())
+                .buildAndExpand(id)
+                .toUri();
+        ResponseEntity<ApiResponse<Employee>> response = upstreamGateway.call(
+                UpstreamOperation.BY_ID,
+                Priority.READ,
+                () -> restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<>() {}));
+        if (response.getBody() == null || response.getBody().getData() == null) {
+            log.warn("No employee found or null response for ID: {}", id);
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+        }
+        return response.getBody().getData();
+    }
+
+    private static Optional<UUID> parseId(String id) {
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
         }
-        return "Failed to delete employee";
     }
 }
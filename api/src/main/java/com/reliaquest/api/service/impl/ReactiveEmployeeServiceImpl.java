@@ -0,0 +1,467 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterFetch;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.KeyRange;
+import com.reliaquest.api.client.UpstreamGateway;
+import com.reliaquest.api.client.UpstreamLimiter.Priority;
+import com.reliaquest.api.client.UpstreamOperation;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.*;
+import com.reliaquest.api.service.IReactiveEmployeeService;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import com.reliaquest.api.utils.EmployeeApiProperties.Lookup.Consistency;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link EmployeeServiceImpl} on {@link WebClient}: the same roster cache, indexes and request coalescing, but no
+ * thread waits on the upstream. Concurrent roster misses and lookups of the same id subscribe to one shared upstream
+ * call.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "employee-api", name = "stack", havingValue = "reactive")
+public class ReactiveEmployeeServiceImpl implements IReactiveEmployeeService {
+
+    private static final ParameterizedTypeReference<ApiResponse<Employee>> EMPLOYEE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Boolean>> DELETE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<Employee>>> EMPLOYEES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<Boolean>>> DELETES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<EmployeePage>> PAGE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<EmployeeChanges>> CHANGES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient upstreamWebClient;
+    private final EmployeeApiProperties apiProperties;
+    private final EmployeeRosterCache rosterCache;
+    private final UpstreamGateway upstreamGateway;
+
+    private final AtomicReference<Mono<RosterSnapshot>> rosterLoad = new AtomicReference<>();
+    private final ConcurrentMap<String, Mono<Employee>> employeeByIdCalls = new ConcurrentHashMap<>();
+
+    public Flux<Employee> getAllEmployees() {
+        return roster().flatMapIterable(RosterSnapshot::getEmployees);
+    }
+
+    public Flux<Employee> getEmployeesByNameSearch(String searchString) {
+        return roster().flatMapIterable(snapshot -> snapshot.searchByName(searchString));
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        Optional<UUID> parsed = parseId(id);
+        if (parsed.isEmpty()) {
+            // The upstream fails a malformed id with a 500, which would be retried and trip the breaker.
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "No employee has this id"));
+        }
+        UUID uuid = parsed.get();
+        if (apiProperties.getLookup().getConsistency() == Consistency.LOCAL_FIRST) {
+            Optional<Employee> cached = rosterCache.peek().flatMap(snapshot -> snapshot.findById(uuid));
+            if (cached.isPresent()) {
+                return Mono.just(cached.get());
+            }
+        }
+        return employeeByIdCalls
+                .computeIfAbsent(id, key -> fetchEmployeeById(key)
+                        .doFinally(signal -> employeeByIdCalls.remove(key))
+                        .cache())
+                .doOnNext(employee -> rosterCache.update(snapshot -> snapshot.put(employee)))
+                .doOnError(
+                        WebClientResponseException.NotFound.class,
+                        ex -> rosterCache.update(snapshot -> snapshot.remove(uuid)))
+                .onErrorResume(UpstreamUnavailableException.class, ex -> Mono.justOrEmpty(findLocally(uuid))
+                        .switchIfEmpty(Mono.error(ex)));
+    }
+
+    public Mono<Integer> getHighestSalaryOfEmployee() {
+        return roster().map(RosterSnapshot::highestSalary);
+    }
+
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        return roster().map(RosterSnapshot::topTenEarnerNames);
+    }
+
+    public Mono<EmployeePage> getEmployeesPage(String after, int limit) {
+        if (limit < 1) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be a positive number"));
+        }
+        Optional<UUID> cursor = Optional.ofNullable(after).flatMap(ReactiveEmployeeServiceImpl::parseId);
+        if (after != null && cursor.isEmpty()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "after must be an id"));
+        }
+        return roster().map(snapshot -> snapshot.page(cursor.orElse(null), limit));
+    }
+
+    public Mono<List<String>> getTopNHighestEarningEmployeeNames(int n) {
+        if (n < 1) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "n must be a positive number"));
+        }
+        return roster().map(snapshot -> snapshot.topEarnerNames(n));
+    }
+
+    public Mono<Employee> createEmployee(Map<String, Object> inputMap) {
+        return Mono.fromSupplier(() -> EmployeeInput.from(inputMap))
+                .flatMap(input -> upstreamGateway.call(
+                        UpstreamOperation.CREATE,
+                        Priority.WRITE,
+                        upstreamWebClient
+                                .post()
+                                .uri(apiProperties.getAllEmployeeEndpoint())
+                                .bodyValue(input)
+                                .retrieve()
+                                .bodyToMono(EMPLOYEE_RESPONSE)))
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Unable to create employee");
+                    return emptyResponse();
+                }))
+                .doOnNext(created -> rosterCache.update(snapshot -> snapshot.add(created)));
+    }
+
+    public Mono<String> deleteEmployee(String id) {
+        return resolveEmployee(id).flatMap(employee -> {
+            DeleteEmployeeInput input = new DeleteEmployeeInput();
+            input.setName(employee.getName());
+            return upstreamGateway
+                    .call(
+                            UpstreamOperation.DELETE,
+                            Priority.WRITE,
+                            upstreamWebClient
+                                    .method(HttpMethod.DELETE)
+                                    .uri(apiProperties.getAllEmployeeEndpoint())
+                                    .bodyValue(input)
+                                    .retrieve()
+                                    .bodyToMono(DELETE_RESPONSE))
+                    .switchIfEmpty(Mono.error(() -> {
+                        log.warn("Unable to delete employee with ID: {}", id);
+                        return emptyResponse();
+                    }))
+                    .map(response -> {
+                        if (!Boolean.TRUE.equals(response.getData())) {
+                            return "Failed to delete employee";
+                        }
+                        applyDeletes(List.of(employee));
+                        return String.format("Employee %s has been deleted", employee.getName());
+                    });
+        });
+    }
+
+    public Mono<List<Employee>> createEmployees(List<Map<String, Object>> inputMaps) {
+        return Mono.fromSupplier(() -> new CreateEmployeesInput(
+                        inputMaps.stream().map(EmployeeInput::from).toList()))
+                .flatMap(input -> upstreamGateway.call(
+                        UpstreamOperation.CREATE,
+                        Priority.WRITE,
+                        upstreamWebClient
+                                .post()
+                                .uri(apiProperties.getBatchEndpoint())
+                                .bodyValue(input)
+                                .retrieve()
+                                .bodyToMono(EMPLOYEES_RESPONSE)))
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Unable to create {} employees", inputMaps.size());
+                    return emptyResponse();
+                }))
+                .doOnNext(created -> rosterCache.update(snapshot -> snapshot.addAll(created)));
+    }
+
+    public Mono<List<String>> deleteEmployees(List<String> ids) {
+        return Flux.fromIterable(ids)
+                .concatMap(id -> resolveEmployee(id).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .collectList()
+                .flatMap(employees -> {
+                    List<Employee> found =
+                            employees.stream().flatMap(Optional::stream).toList();
+                    Mono<List<Boolean>> deleted = found.isEmpty() ? Mono.just(List.of()) : deleteAll(found);
+                    return deleted.map(results -> {
+                        Iterator<Boolean> result = results.iterator();
+                        return employees.stream()
+                                .map(employee -> employee.map(
+                                                e -> deletionMessage(e, result.hasNext() ? result.next() : null))
+                                        .orElse("Employee does not exist"))
+                                .toList();
+                    });
+                });
+    }
+
+    private Mono<List<Boolean>> deleteAll(List<Employee> employees) {
+        List<DeleteEmployeeInput> inputs = employees.stream()
+                .map(employee -> {
+                    DeleteEmployeeInput input = new DeleteEmployeeInput();
+                    input.setName(employee.getName());
+                    return input;
+                })
+                .toList();
+        return upstreamGateway
+                .call(
+                        UpstreamOperation.DELETE,
+                        Priority.WRITE,
+                        upstreamWebClient
+                                .method(HttpMethod.DELETE)
+                                .uri(apiProperties.getBatchEndpoint())
+                                .bodyValue(new DeleteEmployeesInput(inputs))
+                                .retrieve()
+                                .bodyToMono(DELETES_RESPONSE))
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Unable to delete {} employees", employees.size());
+                    return emptyResponse();
+                }))
+                .doOnNext(deleted -> {
+                    List<Employee> removed = new ArrayList<>();
+                    for (int i = 0; i < employees.size() && i < deleted.size(); i++) {
+                        if (Boolean.TRUE.equals(deleted.get(i))) {
+                            removed.add(employees.get(i));
+                        }
+                    }
+                    applyDeletes(removed);
+                });
+    }
+
+    /*
+     * Same namesake handling as the blocking service: the upstream deletes by name.
+     */
+    private void applyDeletes(List<Employee> deleted) {
+        if (deleted.isEmpty()) {
+            return;
+        }
+        boolean ambiguous = rosterCache
+                .peek()
+                .map(snapshot -> deleted.stream().anyMatch(employee -> snapshot.countWithName(employee.getName()) > 1))
+                .orElse(false);
+        if (ambiguous) {
+            rosterCache.invalidate();
+        } else {
+            List<UUID> ids = deleted.stream().map(Employee::getId).toList();
+            rosterCache.update(snapshot -> snapshot.removeAll(ids));
+        }
+    }
+
+    private static String deletionMessage(Employee employee, Boolean deleted) {
+        return Boolean.TRUE.equals(deleted)
+                ? String.format("Employee %s has been deleted", employee.getName())
+                : "Failed to delete employee";
+    }
+
+    private Mono<Employee> resolveEmployee(String id) {
+        return Mono.justOrEmpty(
+                        parseId(id).flatMap(uuid -> rosterCache.peek().flatMap(snapshot -> snapshot.findById(uuid))))
+                .switchIfEmpty(Mono.defer(() -> getEmployeeById(id)));
+    }
+
+    private Optional<Employee> findLocally(UUID id) {
+        return rosterCache.peek().or(rosterCache::staleIfError).flatMap(snapshot -> snapshot.findById(id));
+    }
+
+    /*
+     * Background refreshes run on the cache's own refresher thread, never on an event loop, so they may block.
+     */
+    private Mono<RosterSnapshot> roster() {
+        return Mono.defer(() -> rosterCache
+                .getIfPresent(() -> fetchAllEmployees(Priority.BACKGROUND).block())
+                .map(Mono::just)
+                .orElseGet(() -> loadRoster().onErrorResume(ex -> Mono.justOrEmpty(rosterCache.staleIfError())
+                        .switchIfEmpty(Mono.error(ex)))));
+    }
+
+    private Mono<RosterSnapshot> loadRoster() {
+        while (true) {
+            Mono<RosterSnapshot> inFlight = rosterLoad.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            long startedAt = rosterCache.generation();
+            Mono<RosterSnapshot> load = fetchAllEmployees(Priority.READ)
+                    .map(fetch -> rosterCache.put(fetch, startedAt))
+                    .doFinally(signal -> rosterLoad.set(null))
+                    .cache();
+            if (rosterLoad.compareAndSet(null, load)) {
+                return load;
+            }
+        }
+    }
+
+    private Mono<RosterFetch> fetchAllEmployees(Priority priority) {
+        if (apiProperties.getPagination().getPageSize() > 0) {
+            return Flux.fromIterable(
+                            KeyRange.split(apiProperties.getPagination().getPartitions()))
+                    .flatMapSequential(range -> fetchRange(range, priority))
+                    .collectList()
+                    .map(RosterFetch::of)
+                    .doOnSubscribe(subscription -> log.info("Fetching all employees from external API."));
+        }
+        return Mono.defer(() -> {
+            Optional<RosterSnapshot> known = rosterCache.revalidationCandidate();
+            Mono<RosterFetch> full = upstreamGateway
+                    .call(UpstreamOperation.LIST, priority, requestAllEmployees(known))
+                    .doOnSubscribe(subscription -> log.info("Fetching all employees from external API."))
+                    .<RosterFetch>handle((response, sink) -> {
+                        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && known.isPresent()) {
+                            log.debug(
+                                    "Roster unchanged upstream ({}).",
+                                    known.get().getETag());
+                            sink.next(RosterFetch.notModified(known.get()));
+                        } else if (response.getBody() != null) {
+                            sink.next(RosterFetch.of(
+                                    response.getBody(), response.getHeaders().getETag()));
+                        }
+                    })
+                    .switchIfEmpty(Mono.error(ReactiveEmployeeServiceImpl::emptyResponse));
+            OptionalLong since = known.filter(
+                            snapshot -> apiProperties.getChanges().isEnabled())
+                    .map(snapshot -> EmployeeChanges.sequenceOf(snapshot.getETag()))
+                    .orElseGet(OptionalLong::empty);
+            return since.isPresent()
+                    ? fetchChanges(known.get(), since.getAsLong(), priority).switchIfEmpty(full)
+                    : full;
+        });
+    }
+
+    /*
+     * Completes empty when the upstream answers 410 because its log no longer reaches back to the snapshot, which then
+     * has to be reloaded whole.
+     */
+    private Mono<RosterFetch> fetchChanges(RosterSnapshot known, long since, Priority priority) {
+        return upstreamGateway
+                .call(
+                        UpstreamOperation.CHANGES,
+                        priority,
+                        upstreamWebClient
+                                .get()
+                                .uri(builder -> builder.path(apiProperties.getChangesEndpoint())
+                                        .queryParam("since", since)
+                                        .build())
+                                .retrieve()
+                                .toEntity(CHANGES_RESPONSE))
+                .onErrorResume(WebClientResponseException.Gone.class, ex -> {
+                    log.info("Upstream change log no longer reaches roster version {}; reloading it.", since);
+                    return Mono.empty();
+                })
+                .handle((response, sink) -> {
+                    if (response.getBody() == null
+                            || response.getBody().getData() == null
+                            || response.getBody().getData().getChanges() == null) {
+                        sink.error(emptyResponse());
+                        return;
+                    }
+                    List<EmployeeChange> changes = response.getBody().getData().getChanges();
+                    log.debug("Applying {} upstream roster changes since version {}.", changes.size(), since);
+                    sink.next(RosterFetch.changed(
+                            known, changes, response.getHeaders().getETag()));
+                });
+    }
+
+    private Flux<Employee> fetchRange(KeyRange range, Priority priority) {
+        return fetchPage(range.after(), range.before(), priority)
+                .expand(page -> page.getNextCursor() == null
+                        ? Mono.empty()
+                        : fetchPage(page.getNextCursor(), range.before(), priority))
+                .flatMapIterable(EmployeePage::getEmployees);
+    }
+
+    private Mono<EmployeePage> fetchPage(UUID after, UUID before, Priority priority) {
+        return upstreamGateway
+                .call(
+                        UpstreamOperation.LIST,
+                        priority,
+                        upstreamWebClient
+                                .get()
+                                .uri(builder -> builder.path(apiProperties.getAllEmployeeEndpoint())
+                                        .queryParam(
+                                                "limit",
+                                                apiProperties.getPagination().getPageSize())
+                                        .queryParamIfPresent("after", Optional.ofNullable(after))
+                                        .queryParamIfPresent("before", Optional.ofNullable(before))
+                                        .build())
+                                .retrieve()
+                                .bodyToMono(PAGE_RESPONSE))
+                .mapNotNull(ApiResponse::getData)
+                .filter(page -> page.getEmployees() != null)
+                .switchIfEmpty(Mono.error(ReactiveEmployeeServiceImpl::emptyResponse));
+    }
+
+    /*
+     * Streamed NDJSON is decoded one employee per line as it arrives rather than as one enveloped document. Either way
+     * the body is read before the call completes, and a 304 arrives without one.
+     */
+    private Mono<ResponseEntity<List<Employee>>> requestAllEmployees(Optional<RosterSnapshot> known) {
+        WebClient.RequestHeadersSpec<?> request = upstreamWebClient
+                .get()
+                .uri(apiProperties.getAllEmployeeEndpoint())
+                .headers(headers -> known.ifPresent(snapshot -> headers.setIfNoneMatch(snapshot.getETag())));
+        if (!apiProperties.getHttp().isStreaming()) {
+            return request.retrieve()
+                    .toEntity(EmployeeList.class)
+                    .map(response -> new ResponseEntity<>(
+                            response.getBody() == null
+                                    ? null
+                                    : response.getBody().getData(),
+                            response.getHeaders(),
+                            response.getStatusCode()));
+        }
+        return request.accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .toEntityFlux(Employee.class)
+                .flatMap(response -> response.getBody() == null
+                                || response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                        ? Mono.just(new ResponseEntity<List<Employee>>(response.getHeaders(), response.getStatusCode()))
+                        : response.getBody()
+                                .collectList()
+                                .map(employees -> new ResponseEntity<>(
+                                        employees, response.getHeaders(), response.getStatusCode())));
+    }
+
+    private Mono<Employee> fetchEmployeeById(String id) {
+        return upstreamGateway
+                .call(
+                        UpstreamOperation.BY_ID,
+                        Priority.READ,
+                        upstreamWebClient
+                                .get()
+                                .uri(apiProperties.getEmployeeByIdEndpoint(), id)
+                                .retrieve()
+                                .bodyToMono(EMPLOYEE_RESPONSE))
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("No employee found or null response for ID: {}", id);
+                    return emptyResponse();
+                }));
+    }
+
+    private static ResponseStatusException emptyResponse() {
+        return new ResponseStatusException(
+                HttpStatus.INTERNAL_SERVER_ERROR, "External service returned empty response");
+    }
+
+    private static Optional<UUID> parseId(String id) {
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,16 +1,104 @@
 package com.reliaquest.api.utils;
 
+import com.reliaquest.api.client.FlightRecordingRequestFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.http.HttpClient;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@ConditionalOnProperty(prefix = "employee-api", name = "stack", havingValue = "blocking", matchIfMissing = true)
 @Slf4j
 public class Config {
+
+    private static final String HTTP_PREFIX = "employee-api.http";
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory upstreamRequestFactory) {
+        return builder.requestFactory(() -> upstreamRequestFactory).build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(
+            EmployeeApiProperties apiProperties, ObjectProvider<PoolingHttpClientConnectionManager> connectionManager) {
+        EmployeeApiProperties.Http http = apiProperties.getHttp();
+        log.info(
+                "Upstream HTTP client: {} (max {} connections, {} per route).",
+                http.getClient(),
+                http.getMaxConnections(),
+                http.getMaxConnectionsPerRoute());
+        ClientHttpRequestFactory requestFactory =
+                switch (http.getClient()) {
+                    case APACHE -> apacheRequestFactory(http, connectionManager.getObject());
+                    case JDK -> jdkRequestFactory(http);
+                };
+        return new FlightRecordingRequestFactory(requestFactory, apiProperties);
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    @ConditionalOnProperty(prefix = HTTP_PREFIX, name = "client", havingValue = "apache", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(EmployeeApiProperties apiProperties) {
+        EmployeeApiProperties.Http http = apiProperties.getHttp();
+        if (http.isHttp2()) {
+            log.warn("employee-api.http.http2 is ignored by the Apache client; use client=jdk for HTTP/2.");
+        }
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(http.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(http.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(http.getConnectionTimeToLive()))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = HTTP_PREFIX, name = "client", havingValue = "apache", matchIfMissing = true)
+    public MeterBinder upstreamConnectionPoolMetrics(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(upstreamConnectionManager, "employee-upstream");
+    }
+
+    private static ClientHttpRequestFactory apacheRequestFactory(
+            EmployeeApiProperties.Http http, PoolingHttpClientConnectionManager connectionManager) {
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(http.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(http.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(http.getIdleEviction()))
+                .build());
+    }
+
+    /*
+     * The JDK client pools connections internally; its size and keep-alive are governed by the
+     * jdk.httpclient.connectionPoolSize and jdk.httpclient.keepalive.timeout system properties.
+     */
+    private static ClientHttpRequestFactory jdkRequestFactory(EmployeeApiProperties.Http http) {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(http.getConnectTimeout())
+                .version(http.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(client);
+        requestFactory.setReadTimeout(http.getResponseTimeout());
+        return requestFactory;
     }
 }
@@ -1,5 +1,6 @@
 package com.reliaquest.api.utils;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -11,4 +12,169 @@ public class EmployeeApiProperties {
     private String baseUrl;
     private String allEmployeeEndpoint;
     private String employeeByIdEndpoint;
+    private String batchEndpoint = "/employee/batch";
+    private String changesEndpoint = "/employee/changes";
+    private String changesStreamEndpoint = "/employee/changes/stream";
+    private Stack stack = Stack.BLOCKING;
+    private Cache cache = new Cache();
+    private Refresh refresh = new Refresh();
+    private Lookup lookup = new Lookup();
+    private Http http = new Http();
+    private Limiter limiter = new Limiter();
+    private Resilience resilience = new Resilience();
+    private Batch batch = new Batch();
+    private Pagination pagination = new Pagination();
+    private Changes changes = new Changes();
+    private Diagnostics diagnostics = new Diagnostics();
+
+    public enum Stack {
+        // Servlet controller on RestTemplate; one request thread per in-flight upstream call.
+        BLOCKING,
+        // Mono/Flux controller on WebClient; needs spring.main.web-application-type=reactive to run on Netty.
+        REACTIVE
+    }
+
+    @Data
+    public static class Cache {
+        // How long a roster snapshot is served before the next read reloads it.
+        private Duration ttl = Duration.ofSeconds(30);
+        // Rosters larger than this are still returned to the caller but never retained.
+        private int maxEntries = 1_000_000;
+        // Oldest expired snapshot still served when reloading it fails.
+        private Duration staleIfError = Duration.ofMinutes(15);
+    }
+
+    @Data
+    public static class Refresh {
+        // Serve the cached roster immediately and reload it on a background worker instead of blocking readers.
+        private boolean enabled = false;
+        // Snapshot age at which a read schedules a background reload, ahead of the cache TTL.
+        private Duration after = Duration.ofSeconds(20);
+        // Oldest snapshot still served while reloads keep failing; past this, readers block on the upstream again.
+        private Duration maxStaleness = Duration.ofMinutes(5);
+        // Pause after a failed reload when the upstream does not send Retry-After.
+        private Duration retryDelay = Duration.ofSeconds(15);
+    }
+
+    @Data
+    public static class Lookup {
+        private Consistency consistency = Consistency.LOCAL_FIRST;
+
+        public enum Consistency {
+            // Answer from the cached roster when it holds the id; only misses go upstream.
+            LOCAL_FIRST,
+            // Always ask the upstream, and reconcile the cached roster with its answer.
+            UPSTREAM_VERIFY
+        }
+    }
+
+    @Data
+    public static class Http {
+        private Client client = Client.APACHE;
+        // Pool bounds; the upstream is a single route, so the per-route limit is the one that usually binds.
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        // Longest a caller waits for a pooled connection before failing instead of queueing.
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+        // Longest gap between reads on an open connection.
+        private Duration readTimeout = Duration.ofSeconds(5);
+        // Longest wait for the upstream to start answering a request.
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private Duration idleEviction = Duration.ofSeconds(30);
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+        // Only the JDK client speaks HTTP/2 over RestTemplate; the classic Apache client stays on HTTP/1.1.
+        private boolean http2 = false;
+        // Ask the upstream to stream the roster as NDJSON and parse it one employee at a time as it arrives.
+        private boolean streaming = false;
+
+        public enum Client {
+            APACHE,
+            JDK
+        }
+    }
+
+    @Data
+    public static class Limiter {
+        // Meter upstream calls against a request budget learned from the upstream's 429 responses.
+        private boolean enabled = true;
+        // Requests per window assumed to be allowed until the first 429 says otherwise.
+        private int initialBudget = 5;
+        // Lockout assumed once the budget is spent; lengthened when a 429 proves it longer.
+        private Duration window = Duration.ofSeconds(60);
+        private Duration maxWindow = Duration.ofMinutes(5);
+        // Longest a write or read waits for a permit before failing with 429 itself.
+        private Duration maxWait = Duration.ofSeconds(2);
+        // Permits background refreshes leave untouched for writes and reads.
+        private int reservedPermits = 1;
+    }
+
+    @Data
+    public static class Resilience {
+        private Retry retry = new Retry();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private Bulkhead bulkhead = new Bulkhead();
+
+        @Data
+        public static class Retry {
+            // Attempts per call, the first included. Reads are retried after 5xx and I/O errors, any call after a 429
+            // whose Retry-After fits within max-delay.
+            private int maxAttempts = 3;
+            // Bounds of the decorrelated jitter between attempts.
+            private Duration baseDelay = Duration.ofMillis(100);
+            private Duration maxDelay = Duration.ofSeconds(2);
+        }
+
+        @Data
+        public static class CircuitBreaker {
+            // Consecutive 5xx or I/O failures that open the breaker; a 429 opens it at once.
+            private int failureThreshold = 5;
+            // How long failures keep it open; after a 429 it stays open until the limiter expects a refill.
+            private Duration openDuration = Duration.ofSeconds(30);
+        }
+
+        @Data
+        public static class Bulkhead {
+            private int maxConcurrentCalls = 20;
+            // Longest a blocking caller waits for a free slot; reactive callers never wait.
+            private Duration maxWait = Duration.ofMillis(500);
+        }
+    }
+
+    @Data
+    public static class Batch {
+        // Single creates and deletes arriving within this window share one upstream batch call; zero sends each alone.
+        private Duration window = Duration.ZERO;
+        private int maxSize = 100;
+    }
+
+    @Data
+    public static class Pagination {
+        // Load the roster in keyset pages of this many employees; zero fetches it in a single call.
+        private int pageSize = 0;
+        // Slices of the id keyspace paged through concurrently; each slice follows its own cursor.
+        private int partitions = 1;
+    }
+
+    @Data
+    public static class Changes {
+        // Bring an expired roster up to date from the upstream's change log instead of downloading it again; falls
+        // back to a full reload when the log no longer reaches back to the cached version.
+        private boolean enabled = false;
+        // Follow the upstream's change stream instead, keeping the cached roster current without polling while it
+        // stays connected; every event and heartbeat restarts the roster TTL.
+        private boolean push = false;
+        // Reconnect when not even a heartbeat has arrived for this long; the upstream sends one every 10s.
+        private Duration idleTimeout = Duration.ofSeconds(35);
+        // Bounds of the exponential backoff between reconnects, each resuming after the last change applied.
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+        private Duration maxReconnectDelay = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Diagnostics {
+        // Serve /actuator/jfr, which records the JVM and hands out its stacks, properties and environment; off unless
+        // the jfr profile or this flag turns it on, and then only with jfr added to the web exposure.
+        private boolean jfr = false;
+    }
 }
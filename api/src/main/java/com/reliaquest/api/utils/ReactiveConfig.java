@@ -0,0 +1,46 @@
+package com.reliaquest.api.utils;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Upstream client for {@code employee-api.stack=reactive}, sized from the same {@code employee-api.http} settings as
+ * the blocking client. Responses are buffered up to {@code spring.codec.max-in-memory-size}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee-api", name = "stack", havingValue = "reactive")
+@Slf4j
+public class ReactiveConfig {
+
+    @Bean
+    public WebClient upstreamWebClient(WebClient.Builder builder, EmployeeApiProperties apiProperties) {
+        EmployeeApiProperties.Http http = apiProperties.getHttp();
+        log.info("Upstream HTTP client: reactor-netty (max {} connections).", http.getMaxConnectionsPerRoute());
+        // Reactor pools per remote address, so the per-route limit is the one that applies to the single upstream.
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("employee-upstream")
+                .maxConnections(http.getMaxConnectionsPerRoute())
+                .pendingAcquireTimeout(http.getConnectionRequestTimeout())
+                .maxIdleTime(http.getIdleEviction())
+                .maxLifeTime(http.getConnectionTimeToLive())
+                .evictInBackground(http.getIdleEviction())
+                .build();
+        HttpClient client = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int)
+                        http.getConnectTimeout().toMillis())
+                .responseTimeout(http.getResponseTimeout());
+        if (http.isHttp2()) {
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return builder.baseUrl(apiProperties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(client))
+                .build();
+    }
+}
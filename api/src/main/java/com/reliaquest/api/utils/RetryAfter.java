@@ -0,0 +1,30 @@
+package com.reliaquest.api.utils;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestClientResponseException;
+
+public class RetryAfter {
+
+    private RetryAfter() {}
+
+    /**
+     * Reads a delta-seconds {@code Retry-After} header from an upstream error response. HTTP-date values are ignored.
+     */
+    public static Optional<Duration> from(RestClientResponseException ex) {
+        return from(ex.getResponseHeaders());
+    }
+
+    public static Optional<Duration> from(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the blocking stack twice, on Tomcat's platform-thread pool and on virtual threads, and fires
+ * {@code benchmark.concurrency} simultaneous by-id lookups at each. Every lookup goes to a stub upstream that takes
+ * {@link #UPSTREAM_DELAY} to answer, so the elapsed time shows how many requests each mode keeps in flight.
+ *
+ * <p>The timings are logged, not asserted: the test only fails when a lookup does. Run with {@code ./gradlew -PjavaVersion=21 api:virtualThreadBenchmark}.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsBenchmarkTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 2_000);
+    private static final Duration UPSTREAM_DELAY = Duration.ofSeconds(1);
+
+    private static HttpServer upstream;
+    private static ExecutorService upstreamExecutor;
+
+    @BeforeAll
+    static void startUpstream() throws IOException {
+        upstreamExecutor = Executors.newCachedThreadPool();
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENCY);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext("/api/v1/employee/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            byte[] body = ("{\"data\":{\"id\":\"" + id + "\",\"employee_name\":\"Bench\",\"employee_salary\":1}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(UPSTREAM_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void comparesPlatformAndVirtualThreads() {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info(
+                "{} concurrent lookups, upstream delay {} ms: platform threads {}, virtual threads {}; virtual threads"
+                        + " took {} of the platform time",
+                CONCURRENCY,
+                UPSTREAM_DELAY.toMillis(),
+                platform,
+                virtual,
+                String.format(
+                        "%.0f%%",
+                        100.0 * virtual.elapsed().toNanos() / platform.elapsed().toNanos()));
+        assertEquals(CONCURRENCY, platform.succeeded());
+        assertEquals(CONCURRENCY, virtual.succeeded());
+    }
+
+    private static Result run(boolean virtualThreads) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.accept-count=" + CONCURRENCY,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--employee-api.base-url=http://localhost:"
+                                + upstream.getAddress().getPort() + "/api/v1",
+                        "--employee-api.lookup.consistency=upstream_verify",
+                        "--employee-api.refresh.enabled=false",
+                        "--employee-api.limiter.enabled=false",
+                        // Let the request threads, not the upstream pool, be what limits concurrency.
+                        "--employee-api.http.max-connections=" + CONCURRENCY,
+                        "--employee-api.http.max-connections-per-route=" + CONCURRENCY,
+                        "--employee-api.http.connection-request-timeout=60s",
+                        "--employee-api.http.read-timeout=60s",
+                        "--employee-api.http.response-timeout=60s")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client =
+                    HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENCY);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/" + UUID.randomUUID()))
+                        .timeout(Duration.ofSeconds(120))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            int succeeded = 0;
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                if (response.join().statusCode() == 200) {
+                    succeeded++;
+                }
+            }
+            return new Result(succeeded, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private record Result(int succeeded, Duration elapsed) {
+
+        @Override
+        public String toString() {
+            double seconds = elapsed.toNanos() / 1e9;
+            return String.format("%d ok in %.2f s (%.0f req/s)", succeeded, seconds, succeeded / seconds);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeRosterCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final EmployeeApiProperties apiProperties = new EmployeeApiProperties();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EmployeeRosterCache cache;
+
+    @BeforeEach
+    void setup() {
+        apiProperties.getCache().setTtl(Duration.ofSeconds(10));
+        apiProperties.getRefresh().setAfter(Duration.ofSeconds(5));
+        apiProperties.getRefresh().setMaxStaleness(Duration.ofSeconds(60));
+        cache = new EmployeeRosterCache(apiProperties, new InlineRefresher(apiProperties), clock);
+    }
+
+    @Test
+    void servesSnapshotUntilTtlElapses() {
+        cache.get(this::load);
+        clock.advance(Duration.ofSeconds(9));
+        cache.get(this::load);
+        assertEquals(1, loads.get());
+
+        clock.advance(Duration.ofSeconds(1));
+        cache.get(this::load);
+        assertEquals(2, loads.get());
+        assertEquals(new CacheStats(1, 0, 2, 1, 0, 0), cache.stats());
+    }
+
+    @Test
+    void doesNotRetainRosterLargerThanLimit() {
+        apiProperties.getCache().setMaxEntries(1);
+        RosterSnapshot snapshot = cache.get(this::load);
+        cache.get(this::load);
+
+        assertEquals(2, snapshot.size());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        cache.get(this::load);
+        cache.invalidate();
+        cache.get(this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void refreshesAheadOfExpiryWhenEnabled() {
+        apiProperties.getRefresh().setEnabled(true);
+        RosterSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(6));
+
+        assertSame(first, cache.get(this::load));
+        assertEquals(2, loads.get());
+        assertNotSame(first, cache.get(this::load));
+    }
+
+    @Test
+    void servesStaleSnapshotWhileRefreshFails() {
+        apiProperties.getRefresh().setEnabled(true);
+        RosterSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(30));
+
+        assertSame(first, cache.get(() -> {
+            throw new IllegalStateException("upstream locked out");
+        }));
+        assertEquals(1, cache.stats().staleHits());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertNotSame(first, cache.get(this::load));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void servesExpiredSnapshotWhenReloadFails() {
+        RosterSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(10));
+
+        Supplier<RosterFetch> failing = () -> {
+            throw new IllegalStateException("upstream unavailable");
+        };
+
+        assertSame(first, cache.get(failing));
+        assertEquals(1, cache.stats().staleHits());
+
+        cache.invalidate();
+        assertThrows(IllegalStateException.class, () -> cache.get(failing));
+    }
+
+    @Test
+    void notModifiedKeepsSnapshotAndRestartsTtl() {
+        RosterSnapshot first = cache.get(() -> RosterFetch.of(load().employees(), "\"1\""));
+        clock.advance(Duration.ofSeconds(10));
+
+        RosterSnapshot revalidated = cache.get(
+                () -> RosterFetch.notModified(cache.revalidationCandidate().orElseThrow()));
+        clock.advance(Duration.ofSeconds(9));
+
+        assertSame(first, revalidated);
+        assertSame(first, cache.get(this::load));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().revalidations());
+    }
+
+    @Test
+    void changeFeedPatchesSnapshotInPlace() {
+        RosterSnapshot first = cache.get(() -> RosterFetch.of(load().employees(), "\"1\""));
+        Employee alice = first.getEmployees().get(0);
+        Employee carol = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("Carol")
+                .salary(30)
+                .build();
+        clock.advance(Duration.ofSeconds(10));
+
+        RosterSnapshot patched = cache.get(() -> RosterFetch.changed(
+                cache.revalidationCandidate().orElseThrow(),
+                List.of(
+                        new EmployeeChange(2, EmployeeChange.Type.CREATED, carol),
+                        new EmployeeChange(3, EmployeeChange.Type.DELETED, alice)),
+                "\"3\""));
+
+        assertSame(first, patched);
+        assertEquals(
+                List.of("Bob", "Carol"),
+                patched.getEmployees().stream().map(Employee::getName).toList());
+        assertEquals(30, patched.highestSalary());
+        assertEquals("\"3\"", patched.getETag());
+        assertSame(first, cache.get(this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void pushedChangesApplyOnlyToTheSnapshotStillHeld() {
+        List<RosterSnapshot> installed = new ArrayList<>();
+        cache.onInstall(installed::add);
+        RosterSnapshot first = cache.get(() -> RosterFetch.of(load().employees(), "\"1\""));
+        Employee carol = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("Carol")
+                .salary(30)
+                .build();
+        clock.advance(Duration.ofSeconds(9));
+
+        assertTrue(cache.applyPushed(RosterFetch.changed(
+                first, List.of(new EmployeeChange(2, EmployeeChange.Type.CREATED, carol)), "\"2\"")));
+        clock.advance(Duration.ofSeconds(9));
+
+        assertSame(first, cache.get(this::load));
+        assertEquals(30, first.highestSalary());
+        cache.invalidate();
+        assertFalse(cache.applyPushed(RosterFetch.changed(first, List.of(), "\"2\"")));
+        assertEquals(List.of(first), installed);
+    }
+
+    private RosterFetch load() {
+        loads.incrementAndGet();
+        return RosterFetch.of(List.of(
+                Employee.builder()
+                        .id(UUID.randomUUID())
+                        .name("Alice")
+                        .salary(10)
+                        .build(),
+                Employee.builder().id(UUID.randomUUID()).name("Bob").salary(20).build()));
+    }
+
+    static class InlineRefresher extends RosterRefresher {
+
+        InlineRefresher(EmployeeApiProperties apiProperties) {
+            super(apiProperties);
+        }
+
+        @Override
+        public void submit(Runnable refresh) {
+            try {
+                refresh.run();
+            } catch (RuntimeException ignored) {
+                // the real refresher logs and backs off; tests only care that readers are unaffected
+            }
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
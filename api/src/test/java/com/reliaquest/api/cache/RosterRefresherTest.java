@@ -0,0 +1,34 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RosterRefresherTest {
+
+    private final RosterRefresher refresher = new RosterRefresher(new EmployeeApiProperties());
+
+    @AfterEach
+    void shutdown() {
+        refresher.destroy();
+    }
+
+    @Test
+    void acceptsRefreshesAgainAfterOneThrowsAnError() throws InterruptedException {
+        refresher.submit(() -> {
+            throw new LinkageError("client library mismatch");
+        });
+
+        CountDownLatch ran = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ran.getCount() > 0 && System.nanoTime() - deadline < 0) {
+            refresher.submit(ran::countDown);
+            ran.await(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(0, ran.getCount());
+    }
+}
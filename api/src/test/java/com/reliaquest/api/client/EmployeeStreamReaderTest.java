@@ -0,0 +1,52 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class EmployeeStreamReaderTest {
+
+    private static final String ALICE =
+            "{\"id\":\"8f64b0d7-c2bb-4bfa-bcd7-81ec33b71a6a\",\"employee_name\":\"Alice\",\"employee_salary\":5000}";
+    private static final String BOB =
+            "{\"id\":\"e574df17-75a3-432f-9016-dc4a89c0edc0\",\"employee_name\":\"Bob\",\"employee_salary\":6000}";
+
+    @Test
+    void readsNdjsonLines() throws Exception {
+        List<Employee> employees =
+                EmployeeStreamReader.read(body(ALICE + "\n" + BOB + "\n"), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(
+                List.of("Alice", "Bob"),
+                employees.stream().map(Employee::getName).toList());
+        assertEquals(6000, employees.get(1).getSalary());
+    }
+
+    @Test
+    void readsEnvelopeSkippingOtherFields() throws Exception {
+        String envelope = "{\"meta\":{\"page\":[1,2]},\"data\":[" + ALICE + "," + BOB
+                + "],\"status\":\"Successfully processed request.\"}";
+
+        List<Employee> employees = EmployeeStreamReader.read(body(envelope), MediaType.APPLICATION_JSON);
+
+        assertEquals(
+                List.of("Alice", "Bob"),
+                employees.stream().map(Employee::getName).toList());
+    }
+
+    @Test
+    void envelopeWithoutDataReadsAsNull() throws Exception {
+        assertNull(EmployeeStreamReader.read(
+                body("{\"status\":\"Failed to process request.\"}"), MediaType.APPLICATION_JSON));
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class KeyRangeTest {
+
+    @Test
+    void singlePartitionIsUnbounded() {
+        assertEquals(List.of(KeyRange.ALL), KeyRange.split(1));
+    }
+
+    @Test
+    void everyIdFallsInExactlyOneRange() {
+        List<KeyRange> ranges = KeyRange.split(7);
+        assertEquals(7, ranges.size());
+        assertNull(ranges.get(0).after());
+        assertNull(ranges.get(6).before());
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(1, matching(ranges, UUID.randomUUID()));
+        }
+        for (KeyRange range : ranges.subList(0, 6)) {
+            assertEquals(1, matching(ranges, range.before()));
+        }
+        assertEquals(1, matching(ranges, new UUID(Long.MIN_VALUE, Long.MIN_VALUE)));
+        assertEquals(1, matching(ranges, new UUID(Long.MAX_VALUE, Long.MAX_VALUE)));
+    }
+
+    private static long matching(List<KeyRange> ranges, UUID id) {
+        return ranges.stream()
+                .filter(range -> range.after() == null || id.compareTo(range.after()) > 0)
+                .filter(range -> range.before() == null || id.compareTo(range.before()) < 0)
+                .count();
+    }
+}
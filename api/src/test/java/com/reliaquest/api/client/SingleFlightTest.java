@@ -0,0 +1,80 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("roster", () -> {
+                    awaitFollowers();
+                    return upstreamCalls.incrementAndGet();
+                })));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, flight.executionCount());
+        assertEquals(CALLERS - 1, flight.coalescedCount());
+    }
+
+    @Test
+    void followersReceiveLeaderFailureAndNextCallRunsAgain() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("id", () -> {
+                awaitFollowers(1);
+                throw new IllegalStateException("upstream failed");
+            }));
+            waitUntil(() -> flight.executionCount() == 1);
+
+            assertThrows(IllegalStateException.class, () -> flight.execute("id", () -> 42));
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(7, flight.execute("id", () -> 7));
+    }
+
+    private void awaitFollowers() {
+        awaitFollowers(CALLERS - 1);
+    }
+
+    private void awaitFollowers(long followers) {
+        waitUntil(() -> flight.coalescedCount() >= followers);
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for condition");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamLimiter.Priority;
+import com.reliaquest.api.client.UpstreamLimiterTest.MutableClock;
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+class UpstreamGatewayTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final EmployeeApiProperties apiProperties = new EmployeeApiProperties();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private UpstreamGateway gateway;
+
+    @BeforeEach
+    void setup() {
+        apiProperties.getLimiter().setInitialBudget(100);
+        apiProperties.getLimiter().setMaxWait(Duration.ZERO);
+        apiProperties.getResilience().getRetry().setBaseDelay(Duration.ofMillis(1));
+        apiProperties.getResilience().getRetry().setMaxDelay(Duration.ofMillis(5));
+        apiProperties.getResilience().getCircuitBreaker().setFailureThreshold(2);
+        gateway = new UpstreamGateway(apiProperties, new UpstreamLimiter(apiProperties, clock), clock);
+    }
+
+    @Test
+    void retriesIdempotentCallAfterServerError() {
+        String result = gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(1, serverError()));
+
+        assertEquals("ok", result);
+        assertEquals(new UpstreamCallStats(2, 1, 1, 0, 0), gateway.stats(UpstreamOperation.LIST));
+    }
+
+    @Test
+    void doesNotRetryWriteAfterServerError() {
+        assertThrows(
+                HttpServerErrorException.class,
+                () -> gateway.call(UpstreamOperation.CREATE, Priority.WRITE, failingTimes(1, serverError())));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void retriesAnyCallWhenRetryAfterIsShort() {
+        String result = gateway.call(UpstreamOperation.DELETE, Priority.WRITE, failingTimes(1, tooManyRequests("0")));
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        assertEquals(new UpstreamCallStats(2, 1, 1, 0, 1), gateway.stats(UpstreamOperation.DELETE));
+    }
+
+    @Test
+    void callWaitingForLimiterPermitHoldsNoBulkheadSlot() throws Exception {
+        apiProperties.getLimiter().setInitialBudget(2);
+        apiProperties.getLimiter().setMaxWait(Duration.ofMinutes(2));
+        apiProperties.getResilience().getBulkhead().setMaxConcurrentCalls(1);
+        apiProperties.getResilience().getBulkhead().setMaxWait(Duration.ofSeconds(1));
+        gateway = new UpstreamGateway(apiProperties, new UpstreamLimiter(apiProperties, clock), clock);
+        gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(0, null));
+        gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(0, null));
+
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(
+                () -> gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(0, null)));
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+
+        clock.advance(Duration.ofSeconds(61));
+        assertEquals("ok", gateway.call(UpstreamOperation.CREATE, Priority.WRITE, failingTimes(0, null)));
+        assertEquals("ok", waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, gateway.stats(UpstreamOperation.CREATE).rejected());
+    }
+
+    @Test
+    void timesEachAttemptByOperationAndStatus() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        gateway.bindTo(registry);
+
+        gateway.call(UpstreamOperation.DELETE, Priority.WRITE, failingTimes(1, tooManyRequests("0")));
+
+        assertEquals(
+                1,
+                registry.get(UpstreamTimers.NAME)
+                        .tags("operation", "delete", "status", "429", "outcome", "CLIENT_ERROR")
+                        .timer()
+                        .count());
+        assertEquals(
+                1,
+                registry.get(UpstreamTimers.NAME)
+                        .tags("operation", "delete", "status", "200", "outcome", "SUCCESS")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void throttledCallsAreCountedOncePerOperation() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UpstreamLimiter limiter = new UpstreamLimiter(apiProperties, clock);
+        gateway = new UpstreamGateway(apiProperties, limiter, clock);
+        limiter.bindTo(registry);
+        gateway.bindTo(registry);
+
+        gateway.call(UpstreamOperation.DELETE, Priority.WRITE, failingTimes(1, tooManyRequests("0")));
+
+        // Prometheus drops meters that share a name but not tag keys, so every throttled series is by operation.
+        assertTrue(registry.find("employee.upstream.throttled").meters().stream()
+                .allMatch(meter -> meter.getId().getTag("operation") != null));
+        assertEquals(
+                1,
+                registry.get("employee.upstream.throttled")
+                        .tag("operation", "delete")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    void throttledResponseOpensBreakerUntilRetryAfter() {
+        assertThrows(
+                HttpClientErrorException.TooManyRequests.class,
+                () -> gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(1, tooManyRequests("30"))));
+
+        UpstreamThrottledException refused = assertThrows(
+                UpstreamThrottledException.class,
+                () -> gateway.call(UpstreamOperation.BY_ID, Priority.READ, failingTimes(0, null)));
+        assertEquals(Duration.ofSeconds(30), refused.getRetryAfter());
+        assertEquals(1, calls.get());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals("ok", gateway.call(UpstreamOperation.BY_ID, Priority.READ, failingTimes(0, null)));
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.circuitState());
+    }
+
+    @Test
+    void badRequestIsNeitherRetriedNorCountedAgainstBreaker() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(
+                    HttpClientErrorException.BadRequest.class,
+                    () -> gateway.call(UpstreamOperation.BY_ID, Priority.READ, failingTimes(1, badRequest())));
+        }
+
+        assertEquals(5, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.circuitState());
+        assertEquals(new UpstreamCallStats(5, 0, 0, 0, 0), gateway.stats(UpstreamOperation.BY_ID));
+        assertEquals("ok", gateway.call(UpstreamOperation.BY_ID, Priority.READ, failingTimes(0, null)));
+    }
+
+    @Test
+    void consecutiveFailuresOpenBreakerAndProbeClosesIt() {
+        apiProperties.getResilience().getRetry().setMaxAttempts(1);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(
+                    HttpServerErrorException.class,
+                    () -> gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(1, serverError())));
+        }
+        assertThrows(
+                UpstreamUnavailableException.class,
+                () -> gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(0, null)));
+        assertEquals(1, gateway.stats(UpstreamOperation.LIST).rejected());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, gateway.circuitState());
+        gateway.call(UpstreamOperation.LIST, Priority.READ, failingTimes(0, null));
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.circuitState());
+    }
+
+    private Supplier<String> failingTimes(int failures, RuntimeException error) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            calls.incrementAndGet();
+            if (attempts.incrementAndGet() <= failures) {
+                throw error;
+            }
+            return "ok";
+        };
+    }
+
+    private static HttpServerErrorException serverError() {
+        return HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", HttpHeaders.EMPTY, null, null);
+    }
+
+    private static HttpClientErrorException badRequest() {
+        return HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", HttpHeaders.EMPTY, null, null);
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, retryAfter);
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
@@ -0,0 +1,134 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamLimiter.Priority;
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final EmployeeApiProperties apiProperties = new EmployeeApiProperties();
+
+    private UpstreamLimiter limiter;
+
+    @BeforeEach
+    void setup() {
+        apiProperties.getLimiter().setInitialBudget(3);
+        apiProperties.getLimiter().setWindow(Duration.ofSeconds(30));
+        apiProperties.getLimiter().setMaxWait(Duration.ZERO);
+        limiter = new UpstreamLimiter(apiProperties, clock);
+    }
+
+    @Test
+    void refillsOnlyAfterWindowSinceLastAcceptedRequest() {
+        spend(3);
+        clock.advance(Duration.ofSeconds(29));
+        UpstreamThrottledException refused =
+                assertThrows(UpstreamThrottledException.class, () -> limiter.acquire(Priority.WRITE));
+        assertEquals(Duration.ofSeconds(1), refused.getRetryAfter());
+
+        clock.advance(Duration.ofSeconds(1));
+        // A window with no 429 probes one request further.
+        assertEquals(4, limiter.availablePermits());
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    @Test
+    void throttledResponseFixesBudgetAndHonoursRetryAfter() {
+        spend(2);
+        limiter.acquire(Priority.READ);
+        limiter.onThrottled(Optional.of(Duration.ofSeconds(45)));
+
+        assertEquals(2, limiter.budget());
+        assertFalse(limiter.tryAcquire(Priority.WRITE));
+        clock.advance(Duration.ofSeconds(45));
+        assertEquals(2, limiter.availablePermits());
+
+        spend(2);
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    void throttledRightAfterRefillLengthensWindow() {
+        spend(3);
+        clock.advance(Duration.ofSeconds(30));
+        limiter.acquire(Priority.READ);
+        limiter.onThrottled(Optional.empty());
+
+        assertEquals(4, limiter.budget());
+        clock.advance(Duration.ofSeconds(14));
+        assertFalse(limiter.tryAcquire(Priority.READ));
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(limiter.tryAcquire(Priority.READ));
+    }
+
+    @Test
+    void backgroundCallsLeaveReservedPermitForWrites() {
+        assertTrue(limiter.tryAcquire(Priority.BACKGROUND));
+        assertTrue(limiter.tryAcquire(Priority.BACKGROUND));
+        assertThrows(UpstreamThrottledException.class, () -> limiter.acquire(Priority.BACKGROUND));
+        assertTrue(limiter.tryAcquire(Priority.WRITE));
+    }
+
+    @Test
+    void notModifiedResponseGivesPermitBack() {
+        spend(2);
+        limiter.acquire(Priority.READ);
+        limiter.refund();
+
+        assertEquals(1, limiter.availablePermits());
+        limiter.refund();
+        limiter.refund();
+        assertEquals(3, limiter.availablePermits());
+    }
+
+    @Test
+    void disabledLimiterNeverRefuses() {
+        apiProperties.getLimiter().setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(Priority.BACKGROUND);
+        }
+        assertEquals(0, limiter.rejectedCount());
+    }
+
+    private void spend(int requests) {
+        for (int i = 0; i < requests; i++) {
+            limiter.acquire(Priority.READ);
+            limiter.onResponse();
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
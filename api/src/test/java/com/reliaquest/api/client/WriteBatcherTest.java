@@ -0,0 +1,97 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WriteBatcherTest {
+
+    private final EmployeeApiProperties.Batch settings = new EmployeeApiProperties.Batch();
+    private final List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+
+    private final WriteBatcher<Integer, Integer> batcher = new WriteBatcher<>("test-batcher", () -> settings, items -> {
+        flushed.add(List.copyOf(items));
+        return items.stream().map(item -> item * 10).toList();
+    });
+
+    @AfterEach
+    void close() {
+        batcher.close();
+    }
+
+    @Test
+    void writesWithinWindowShareOneFlush() throws Exception {
+        settings.setWindow(Duration.ofMillis(200));
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            results.add(batcher.submit(i));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals((i + 1) * 10, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(List.of(1, 2, 3)), flushed);
+    }
+
+    @Test
+    void fullBatchFlushesWithoutWaitingForWindow() {
+        settings.setWindow(Duration.ofMinutes(1));
+        settings.setMaxSize(2);
+
+        CompletableFuture<Integer> first = batcher.submit(1);
+        CompletableFuture<Integer> second = batcher.submit(2);
+
+        assertTrue(first.isDone());
+        assertEquals(20, second.join());
+        assertEquals(List.of(List.of(1, 2)), flushed);
+    }
+
+    @Test
+    void flushFailureReachesEveryWriter() {
+        settings.setWindow(Duration.ofMillis(50));
+        WriteBatcher<Integer, Integer> failing = new WriteBatcher<>("failing-batcher", () -> settings, items -> {
+            throw new IllegalStateException("upstream failed");
+        });
+
+        CompletableFuture<Integer> other = failing.submit(2);
+        assertThrows(IllegalStateException.class, () -> failing.execute(1));
+        assertTrue(other.isCompletedExceptionally());
+        failing.close();
+    }
+
+    @Test
+    void flushErrorReachesEveryWriter() {
+        settings.setWindow(Duration.ofMillis(50));
+        WriteBatcher<Integer, Integer> failing = new WriteBatcher<>("erroring-batcher", () -> settings, items -> {
+            throw new AssertionError("flush broke");
+        });
+
+        CompletableFuture<Integer> other = failing.submit(2);
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(5), () -> assertThrows(AssertionError.class, () -> failing.execute(1)));
+        assertTrue(other.isCompletedExceptionally());
+        failing.close();
+    }
+
+    @Test
+    void closeFailsWritesStillWaitingForTheirWindow() {
+        settings.setWindow(Duration.ofMinutes(1));
+
+        CompletableFuture<Integer> pending = batcher.submit(1);
+        batcher.close();
+
+        CompletionException failed = assertThrows(CompletionException.class, pending::join);
+        assertInstanceOf(IllegalStateException.class, failed.getCause());
+        assertTrue(flushed.isEmpty());
+    }
+}
@@ -1,5 +1,7 @@
 package com.reliaquest.api.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -17,6 +19,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 // Load only the EmployeeController class
 @WebMvcTest(EmployeeController.class)
@@ -133,6 +136,30 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[1].employee_name").value("Bob"));
     }
 
+    @Test
+    public void testGetAllEmployees_NdjsonWritesOneEmployeePerLine() throws Exception {
+        List<Employee> employees = List.of(
+                Employee.builder().id(UUID.randomUUID()).name("Alice").build(),
+                Employee.builder().id(UUID.randomUUID()).name("Bob").build());
+        Mockito.when(employeeService.getAllEmployees()).thenReturn(employees);
+
+        MvcResult result = mockMvc.perform(get("/").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{"));
+        assertEquals("Alice", objectMapper.readValue(lines[0], Employee.class).getName());
+        assertEquals("Bob", objectMapper.readValue(lines[1], Employee.class).getName());
+    }
+
     @Test
     public void testGetEmployeesByNameSearch_Success() throws Exception {
         String search = "Ali";
@@ -176,4 +203,15 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[1]").value("Bob"))
                 .andExpect(jsonPath("$[2]").value("Charlie"));
     }
+
+    @Test
+    public void testGetTopNHighestEarningEmployeeNames_Success() throws Exception {
+        Mockito.when(employeeService.getTopNHighestEarningEmployeeNames(2)).thenReturn(List.of("Alice", "Bob"));
+
+        mockMvc.perform(get("/topNHighestEarning").param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Alice"))
+                .andExpect(jsonPath("$[1]").value("Bob"));
+    }
 }
@@ -0,0 +1,96 @@
+package com.reliaquest.api.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterFetch;
+import com.reliaquest.api.cache.RosterRefresher;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.Resource;
+
+class FlightRecorderEndpointTest {
+
+    private final FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void close() {
+        endpoint.destroy();
+    }
+
+    @Test
+    void onlyRegisteredWhenOptedIn() {
+        final var runner = new ApplicationContextRunner().withUserConfiguration(FlightRecorderEndpoint.class);
+
+        runner.run(context ->
+                assertTrue(context.getBeansOfType(FlightRecorderEndpoint.class).isEmpty()));
+        runner.withPropertyValues("employee-api.diagnostics.jfr=true")
+                .run(context -> assertNotNull(context.getBean(FlightRecorderEndpoint.class)));
+    }
+
+    @Test
+    void nothingToDumpOrStopBeforeStart() throws IOException {
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump().getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.stop().getStatus());
+    }
+
+    @Test
+    void dumpHasCacheEventsRecordedSinceStart() throws IOException {
+        assertEquals("RUNNING", endpoint.start(null, null).state());
+        EmployeeApiProperties apiProperties = new EmployeeApiProperties();
+        EmployeeRosterCache cache = new EmployeeRosterCache(apiProperties, new RosterRefresher(apiProperties));
+        cache.get(() -> RosterFetch.of(List.of()));
+        cache.get(() -> RosterFetch.of(List.of()));
+        assertEquals("STOPPED", endpoint.stop().getBody().state());
+
+        List<RecordedEvent> events = read(endpoint.dump());
+
+        RecordedEvent load = single(events, "com.reliaquest.api.RosterLoad");
+        assertEquals("loaded", load.getString("result"));
+        assertFalse(load.getBoolean("background"));
+        assertEquals(
+                List.of("miss", "hit"),
+                events.stream()
+                        .filter(event -> event.getEventType().getName().equals("com.reliaquest.api.RosterRead"))
+                        .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                        .map(event -> event.getString("result"))
+                        .toList());
+    }
+
+    @Test
+    void rejectsUnknownSettings() {
+        assertThrows(RuntimeException.class, () -> endpoint.start("no-such-settings", null));
+    }
+
+    private List<RecordedEvent> read(WebEndpointResponse<Resource> dump) throws IOException {
+        assertEquals(WebEndpointResponse.STATUS_OK, dump.getStatus());
+        Path file = directory.resolve("dump.jfr");
+        try (InputStream body = dump.getBody().getInputStream()) {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class NameSearchIndexTest {
+
+    private static final String[] NAMES = {
+        "Ranjit", "Ranjeet", "Bradley", "Tiger Nixon", "Kennedy", "Haley", "Doris", "Vance", "Anna Banana", "Nan"
+    };
+
+    @Test
+    void matchesCaseInsensitiveSubstringsInRosterOrder() {
+        NameSearchIndex index = NameSearchIndex.of(roster());
+
+        assertEquals(List.of("Ranjit", "Ranjeet"), names(index.search("RAN")));
+        assertEquals(List.of("Tiger Nixon"), names(index.search("r nix")));
+        assertEquals(List.of("Anna Banana"), names(index.search("anana")));
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    void shortQueriesScanFoldedNames() {
+        NameSearchIndex index = NameSearchIndex.of(roster());
+
+        assertEquals(List.of("Anna Banana", "Nan"), names(index.search("Na")));
+        assertEquals(NAMES.length, index.search("").size());
+    }
+
+    @Test
+    void replacedEmployeeKeepsItsPlaceInRosterOrder() {
+        List<Employee> roster = roster();
+        NameSearchIndex index = NameSearchIndex.of(roster);
+        Employee ranjit = roster.get(0);
+
+        assertTrue(index.replace(copy(ranjit, "Ranjit", 2)));
+        assertEquals(List.of("Ranjit", "Ranjeet"), names(index.search("ran")));
+        assertEquals(2, index.search("ran").get(0).getSalary());
+
+        assertTrue(index.replace(copy(ranjit, "Randall", 2)));
+        assertEquals(List.of("Randall", "Ranjeet"), names(index.search("ran")));
+        assertTrue(index.search("anjit").isEmpty());
+        assertEquals(NAMES.length, index.size());
+
+        assertFalse(index.replace(employee("Stranger")));
+    }
+
+    @Test
+    void agreesWithLinearScanAcrossUpdatesAndCompaction() {
+        Random random = new Random(7);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            roster.add(employee(NAMES[random.nextInt(NAMES.length)] + " " + i));
+        }
+        NameSearchIndex index = NameSearchIndex.of(roster);
+
+        for (int i = 0; i < 400; i++) {
+            Employee removed = roster.remove(random.nextInt(roster.size()));
+            assertTrue(index.remove(removed.getId()));
+            if (i % 3 == 0) {
+                int at = random.nextInt(roster.size());
+                Employee renamed = copy(roster.get(at), NAMES[random.nextInt(NAMES.length)] + " renamed" + i, 1);
+                roster.set(at, renamed);
+                assertTrue(index.replace(renamed));
+            }
+            if (i % 2 == 0) {
+                Employee added = employee(NAMES[random.nextInt(NAMES.length)] + " new" + i);
+                roster.add(added);
+                index.add(added);
+            }
+        }
+
+        assertEquals(roster.size(), index.size());
+        for (String query : List.of("ran", "an", "ANNA", "nixon 1", "new1", "renamed", "d3", "e", "y 4")) {
+            assertEquals(linearScan(roster, query), index.search(query), query);
+        }
+    }
+
+    private static List<Employee> linearScan(List<Employee> roster, String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        return roster.stream()
+                .filter(employee -> employee.getName().toLowerCase(Locale.ROOT).contains(needle))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Employee> roster() {
+        List<Employee> roster = new ArrayList<>();
+        for (String name : NAMES) {
+            roster.add(employee(name));
+        }
+        return roster;
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).collect(Collectors.toList());
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder().id(UUID.randomUUID()).name(name).salary(1).build();
+    }
+
+    private static Employee copy(Employee employee, String name, int salary) {
+        return Employee.builder().id(employee.getId()).name(name).salary(salary).build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    @Test
+    void ordersBySalaryDescendingKeepingRosterOrderOnTies() {
+        SalaryIndex index = SalaryIndex.of(
+                List.of(employee("Low", 100), employee("TieA", 500), employee("High", 900), employee("TieB", 500)));
+
+        assertEquals(900, index.highest());
+        assertEquals(List.of("High", "TieA", "TieB", "Low"), index.topTenNames());
+        assertEquals(List.of("High", "TieA"), index.topNames(2));
+    }
+
+    @Test
+    void emptyRosterHasZeroHighestSalary() {
+        SalaryIndex index = SalaryIndex.of(List.of());
+
+        assertEquals(0, index.highest());
+        assertTrue(index.topTenNames().isEmpty());
+    }
+
+    @Test
+    void incrementalUpdatesMatchFullRebuild() {
+        Random random = new Random(42);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            roster.add(employee("E" + i, random.nextInt(50)));
+        }
+        SalaryIndex index = SalaryIndex.of(roster);
+
+        for (int i = 0; i < 100; i++) {
+            Employee removed = roster.remove(random.nextInt(roster.size()));
+            assertTrue(index.remove(removed));
+            Employee added = employee("N" + i, random.nextInt(50));
+            roster.add(added);
+            index.add(added);
+        }
+
+        SalaryIndex rebuilt = SalaryIndex.of(roster);
+        assertEquals(rebuilt.highest(), index.highest());
+        assertEquals(rebuilt.topNames(roster.size()), index.topNames(roster.size()));
+        assertFalse(index.remove(employee("Missing", 10)));
+    }
+
+    private static Employee employee(String name, int salary) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .build();
+    }
+}
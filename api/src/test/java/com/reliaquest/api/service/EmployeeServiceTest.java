@@ -4,32 +4,49 @@ import static org.junit.Assert.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterRefresher;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.UpstreamGateway;
+import com.reliaquest.api.client.UpstreamLimiter;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
 import com.reliaquest.api.model.EmployeeList;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.service.impl.EmployeeServiceImpl;
 import com.reliaquest.api.utils.EmployeeApiProperties;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @RunWith(MockitoJUnitRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -38,6 +55,8 @@ public class EmployeeServiceTest {
     private static final String BASE_URL = "https://dummy.restapiexample.com/api/v1";
     private static final String EMPLOYEE_LIST_ENDPOINT = "/employee";
     private static final String EMPLOYEE_BY_ID_ENDPOINT = "/employee/{id}";
+    private static final String BATCH_ENDPOINT = "/employee/batch";
+    private static final String CHANGES_ENDPOINT = "/employee/changes";
 
     private final List<Employee> employeeList = new ArrayList<>();
 
@@ -47,6 +66,13 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeApiProperties apiProperties;
 
+    @Spy
+    private EmployeeRosterCache rosterCache =
+            new EmployeeRosterCache(new EmployeeApiProperties(), new RosterRefresher(new EmployeeApiProperties()));
+
+    @Spy
+    private UpstreamGateway upstreamGateway = new UpstreamGateway(unlimited(), new UpstreamLimiter(unlimited()));
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -55,6 +81,13 @@ public class EmployeeServiceTest {
         when(apiProperties.getBaseUrl()).thenReturn(BASE_URL);
         when(apiProperties.getAllEmployeeEndpoint()).thenReturn(EMPLOYEE_LIST_ENDPOINT);
         when(apiProperties.getEmployeeByIdEndpoint()).thenReturn(EMPLOYEE_BY_ID_ENDPOINT);
+        when(apiProperties.getLookup()).thenReturn(new EmployeeApiProperties.Lookup());
+        when(apiProperties.getBatchEndpoint()).thenReturn(BATCH_ENDPOINT);
+        when(apiProperties.getBatch()).thenReturn(new EmployeeApiProperties.Batch());
+        when(apiProperties.getHttp()).thenReturn(new EmployeeApiProperties.Http());
+        when(apiProperties.getPagination()).thenReturn(new EmployeeApiProperties.Pagination());
+        when(apiProperties.getChangesEndpoint()).thenReturn(CHANGES_ENDPOINT);
+        when(apiProperties.getChanges()).thenReturn(new EmployeeApiProperties.Changes());
 
         employeeList.add(Employee.builder()
                 .id(UUID.fromString("8f64b0d7-c2bb-4bfa-bcd7-81ec33b71a6a"))
@@ -376,4 +409,346 @@ public class EmployeeServiceTest {
         String result = employeeService.deleteEmployee(empId);
         assertEquals("Employee DeleteMe has been deleted", result);
     }
+
+    @Test
+    void testAggregateQueries_shareOneCachedRoster() throws URISyntaxException {
+        getAllEmployee();
+        employeeService.getAllEmployees();
+        employeeService.getEmployeesByNameSearch("Ran");
+        employeeService.getHighestSalaryOfEmployee();
+        employeeService.getTopTenHighestEarningEmployeeNames();
+
+        URI uri = new URI(BASE_URL + EMPLOYEE_LIST_ENDPOINT);
+        verify(restTemplate, times(1)).exchange(eq(uri), eq(HttpMethod.GET), isNull(), eq(EmployeeList.class));
+        assertEquals(1, rosterCache.stats().misses());
+        assertEquals(3, rosterCache.stats().hits());
+    }
+
+    @Test
+    void testCreateEmployee_updatesCachedRosterInPlace() throws URISyntaxException {
+        getAllEmployee();
+        employeeService.getAllEmployees();
+
+        Employee created = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("John")
+                .age(25)
+                .salary(500000)
+                .title("Engineer")
+                .build();
+        URI uri = URI.create(BASE_URL + EMPLOYEE_LIST_ENDPOINT);
+        when(restTemplate.exchange(
+                        eq(uri), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        ApiResponse.<Employee>builder().data(created).build(), HttpStatus.CREATED));
+
+        employeeService.createEmployee(Map.of("name", "John", "age", "25", "salary", "500000", "title", "Engineer"));
+
+        assertTrue(employeeService.getAllEmployees().contains(created));
+        assertEquals(Integer.valueOf(500000), employeeService.getHighestSalaryOfEmployee());
+        assertEquals(
+                "John", employeeService.getTopTenHighestEarningEmployeeNames().get(0));
+        verify(restTemplate, times(1)).exchange(eq(uri), eq(HttpMethod.GET), isNull(), eq(EmployeeList.class));
+        assertEquals(0, rosterCache.stats().evictions());
+    }
+
+    @Test
+    void testGetTopNHighestEarningEmployeeNames_shouldReturnRequestedCount() throws URISyntaxException {
+        getAllEmployee();
+        assertEquals(List.of("Kennedy", "Nixon", "Sachin"), employeeService.getTopNHighestEarningEmployeeNames(3));
+        assertEquals(
+                employeeList.size(),
+                employeeService.getTopNHighestEarningEmployeeNames(50).size());
+
+        ResponseStatusException thrown = assertThrows(
+                ResponseStatusException.class, () -> employeeService.getTopNHighestEarningEmployeeNames(0));
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+    }
+
+    @Test
+    void testGetEmployeeById_localFirstServesCachedRosterWithoutUpstreamCall() throws URISyntaxException {
+        getAllEmployee();
+        employeeService.getAllEmployees();
+
+        Employee employee = employeeService.getEmployeeById("9c4cfc6e-e4a3-40e8-9f2b-786ba28e8db0");
+
+        assertEquals("Nixon", employee.getName());
+        verify(restTemplate, never())
+                .exchange(any(URI.class), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void testGetEmployeeById_malformedIdIsNotFoundWithoutUpstreamCall() {
+        ResponseStatusException thrown =
+                assertThrows(ResponseStatusException.class, () -> employeeService.getEmployeeById("not-a-uuid"));
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetEmployeeById_upstreamVerifyAlwaysAsksUpstream() throws URISyntaxException {
+        EmployeeApiProperties.Lookup lookup = new EmployeeApiProperties.Lookup();
+        lookup.setConsistency(EmployeeApiProperties.Lookup.Consistency.UPSTREAM_VERIFY);
+        when(apiProperties.getLookup()).thenReturn(lookup);
+        getAllEmployee();
+        employeeService.getAllEmployees();
+
+        String empId = "9c4cfc6e-e4a3-40e8-9f2b-786ba28e8db0";
+        URI uri = new URI(BASE_URL + EMPLOYEE_BY_ID_ENDPOINT.replace("{id}", empId));
+        when(restTemplate.exchange(eq(uri), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        ApiResponse.<Employee>builder()
+                                .data(employeeList.get(4))
+                                .build(),
+                        HttpStatus.OK));
+
+        assertEquals("Nixon", employeeService.getEmployeeById(empId).getName());
+        verify(restTemplate, times(1))
+                .exchange(eq(uri), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void testGetEmployeeById_upstreamVerifyReplacesStaleLocalCopy() throws URISyntaxException {
+        EmployeeApiProperties.Lookup lookup = new EmployeeApiProperties.Lookup();
+        lookup.setConsistency(EmployeeApiProperties.Lookup.Consistency.UPSTREAM_VERIFY);
+        when(apiProperties.getLookup()).thenReturn(lookup);
+        getAllEmployee();
+        employeeService.getAllEmployees();
+        long generation = rosterCache.generation();
+
+        Employee nixon = employeeList.get(4);
+        Employee raised = Employee.builder()
+                .id(nixon.getId())
+                .name(nixon.getName())
+                .salary(900000)
+                .age(nixon.getAge())
+                .title(nixon.getTitle())
+                .email(nixon.getEmail())
+                .build();
+        URI uri = new URI(
+                BASE_URL + EMPLOYEE_BY_ID_ENDPOINT.replace("{id}", nixon.getId().toString()));
+        when(restTemplate.exchange(eq(uri), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        ApiResponse.<Employee>builder().data(raised).build(), HttpStatus.OK));
+
+        assertEquals(raised, employeeService.getEmployeeById(nixon.getId().toString()));
+
+        assertEquals(Integer.valueOf(900000), employeeService.getHighestSalaryOfEmployee());
+        assertEquals(employeeList.size(), employeeService.getAllEmployees().size());
+        assertTrue(employeeService.getAllEmployees().contains(raised));
+        assertTrue(rosterCache.generation() > generation);
+    }
+
+    @Test
+    void testDeleteEmployee_resolvesNameLocallyAndMakesOneUpstreamCall() throws URISyntaxException {
+        getAllEmployee();
+        employeeService.getAllEmployees();
+
+        URI deleteUri = URI.create(BASE_URL + EMPLOYEE_LIST_ENDPOINT);
+        when(restTemplate.exchange(
+                        eq(deleteUri),
+                        eq(HttpMethod.DELETE),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        ApiResponse.<Boolean>builder().data(true).build(), HttpStatus.OK));
+
+        String result = employeeService.deleteEmployee("82a3027a-81f3-4437-a2aa-f79d61a939f1");
+
+        assertEquals("Employee Kennedy has been deleted", result);
+        assertEquals(Integer.valueOf(100001), employeeService.getHighestSalaryOfEmployee());
+        assertEquals(employeeList.size() - 1, employeeService.getAllEmployees().size());
+        verify(restTemplate, never())
+                .exchange(any(URI.class), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(eq(deleteUri), eq(HttpMethod.GET), isNull(), eq(EmployeeList.class));
+    }
+
+    @Test
+    void testDeleteEmployee_responseBodyIsNull_shouldThrowException() throws URISyntaxException {
+        getAllEmployee();
+        employeeService.getAllEmployees();
+
+        when(restTemplate.exchange(
+                        eq(URI.create(BASE_URL + EMPLOYEE_LIST_ENDPOINT)),
+                        eq(HttpMethod.DELETE),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(null, HttpStatus.OK));
+
+        ResponseStatusException thrown = assertThrows(
+                ResponseStatusException.class,
+                () -> employeeService.deleteEmployee("82a3027a-81f3-4437-a2aa-f79d61a939f1"));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, thrown.getStatusCode());
+        assertEquals(employeeList.size(), employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    void testCreateEmployees_makesOneUpstreamCallAndOneCacheUpdate() throws URISyntaxException {
+        getAllEmployee();
+        employeeService.getAllEmployees();
+
+        List<Employee> created = List.of(
+                Employee.builder()
+                        .id(UUID.randomUUID())
+                        .name("John")
+                        .salary(500000)
+                        .build(),
+                Employee.builder()
+                        .id(UUID.randomUUID())
+                        .name("Jane")
+                        .salary(600000)
+                        .build());
+        URI uri = URI.create(BASE_URL + BATCH_ENDPOINT);
+        when(restTemplate.exchange(
+                        eq(uri), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        ApiResponse.<List<Employee>>builder().data(created).build(), HttpStatus.CREATED));
+
+        List<Employee> result = employeeService.createEmployees(List.of(
+                Map.of("name", "John", "age", "25", "salary", "500000", "title", "Engineer"),
+                Map.of("name", "Jane", "age", "30", "salary", "600000", "title", "Engineer")));
+
+        assertEquals(created, result);
+        assertEquals(employeeList.size() + 2, employeeService.getAllEmployees().size());
+        assertEquals(List.of("Jane", "John"), employeeService.getTopNHighestEarningEmployeeNames(2));
+        verify(restTemplate, times(1))
+                .exchange(eq(uri), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(rosterCache, times(1)).update(any());
+    }
+
+    @Test
+    void testDeleteEmployees_reportsEachIdFromOneUpstreamCall() throws URISyntaxException {
+        getAllEmployee();
+        employeeService.getAllEmployees();
+
+        URI uri = URI.create(BASE_URL + BATCH_ENDPOINT);
+        when(restTemplate.exchange(
+                        eq(uri), eq(HttpMethod.DELETE), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        ApiResponse.<List<Boolean>>builder()
+                                .data(List.of(true, false))
+                                .build(),
+                        HttpStatus.OK));
+
+        List<String> result = employeeService.deleteEmployees(
+                List.of("82a3027a-81f3-4437-a2aa-f79d61a939f1", "9c4cfc6e-e4a3-40e8-9f2b-786ba28e8db0"));
+
+        assertEquals(List.of("Employee Kennedy has been deleted", "Failed to delete employee"), result);
+        assertEquals(employeeList.size() - 1, employeeService.getAllEmployees().size());
+        assertEquals(Integer.valueOf(100001), employeeService.getHighestSalaryOfEmployee());
+        verify(restTemplate, times(1))
+                .exchange(eq(uri), eq(HttpMethod.DELETE), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void testGetEmployeesPage_walksRosterInIdOrder() throws URISyntaxException {
+        getAllEmployee();
+
+        List<Employee> walked = new ArrayList<>();
+        EmployeePage page = employeeService.getEmployeesPage(null, 4);
+        walked.addAll(page.getEmployees());
+        while (page.getNextCursor() != null) {
+            page = employeeService.getEmployeesPage(page.getNextCursor().toString(), 4);
+            walked.addAll(page.getEmployees());
+        }
+
+        assertEquals(
+                employeeList.stream()
+                        .sorted(Comparator.comparing(Employee::getId))
+                        .toList(),
+                walked);
+        ResponseStatusException thrown =
+                assertThrows(ResponseStatusException.class, () -> employeeService.getEmployeesPage("not-an-id", 4));
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+    }
+
+    @Test
+    void testGetAllEmployees_pagedRosterFetchesEveryPartition() {
+        EmployeeApiProperties.Pagination pagination = new EmployeeApiProperties.Pagination();
+        pagination.setPageSize(2);
+        pagination.setPartitions(3);
+        when(apiProperties.getPagination()).thenReturn(pagination);
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> pageOf(invocation.getArgument(0)));
+
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(
+                employeeList.stream()
+                        .sorted(Comparator.comparing(Employee::getId))
+                        .toList(),
+                employees);
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                        .filter(thread -> thread.getName().equals("employee-page-fetch"))
+                        .count()
+                <= pagination.getPartitions());
+        employeeService.destroy();
+    }
+
+    @Test
+    void testGetAllEmployees_appliesUpstreamChangesToKnownSnapshot() throws URISyntaxException {
+        EmployeeApiProperties.Changes changes = new EmployeeApiProperties.Changes();
+        changes.setEnabled(true);
+        when(apiProperties.getChanges()).thenReturn(changes);
+        RosterSnapshot known = RosterSnapshot.of(employeeList, Instant.EPOCH, "\"7\"");
+        doReturn(Optional.of(known)).when(rosterCache).revalidationCandidate();
+        Employee hired = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("Grace")
+                .salary(200000)
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"9\"");
+        when(restTemplate.exchange(
+                        eq(new URI(BASE_URL + CHANGES_ENDPOINT + "?since=7")),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        ApiResponse.<EmployeeChanges>builder()
+                                .data(new EmployeeChanges(
+                                        List.of(
+                                                new EmployeeChange(8, EmployeeChange.Type.CREATED, hired),
+                                                new EmployeeChange(
+                                                        9, EmployeeChange.Type.DELETED, employeeList.get(0))),
+                                        9))
+                                .build(),
+                        headers,
+                        HttpStatus.OK));
+
+        assertEquals(200000, employeeService.getHighestSalaryOfEmployee());
+        assertEquals(employeeList.size(), employeeService.getAllEmployees().size());
+        assertEquals("\"9\"", known.getETag());
+        verify(restTemplate, never()).exchange(any(URI.class), eq(HttpMethod.GET), any(), eq(EmployeeList.class));
+    }
+
+    /*
+     * Answers a keyset page request the way the mock server does.
+     */
+    private ResponseEntity<ApiResponse<EmployeePage>> pageOf(URI uri) {
+        Map<String, String> params =
+                UriComponentsBuilder.fromUri(uri).build().getQueryParams().toSingleValueMap();
+        int limit = Integer.parseInt(params.get("limit"));
+        UUID after = params.containsKey("after") ? UUID.fromString(params.get("after")) : null;
+        UUID before = params.containsKey("before") ? UUID.fromString(params.get("before")) : null;
+        List<Employee> matching = employeeList.stream()
+                .filter(employee -> after == null || employee.getId().compareTo(after) > 0)
+                .filter(employee -> before == null || employee.getId().compareTo(before) < 0)
+                .sorted(Comparator.comparing(Employee::getId))
+                .toList();
+        List<Employee> page = matching.subList(0, Math.min(limit, matching.size()));
+        UUID next = matching.size() > limit ? page.get(limit - 1).getId() : null;
+        return new ResponseEntity<>(
+                ApiResponse.<EmployeePage>builder()
+                        .data(new EmployeePage(page, next))
+                        .build(),
+                HttpStatus.OK);
+    }
+
+    private static EmployeeApiProperties unlimited() {
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.getLimiter().setEnabled(false);
+        return properties;
+    }
 }
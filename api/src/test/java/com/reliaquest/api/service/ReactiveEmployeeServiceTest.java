@@ -0,0 +1,175 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterRefresher;
+import com.reliaquest.api.client.UpstreamGateway;
+import com.reliaquest.api.client.UpstreamLimiter;
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.ReactiveEmployeeServiceImpl;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class ReactiveEmployeeServiceTest {
+
+    private static final String RANJIT_ID = "8f64b0d7-c2bb-4bfa-bcd7-81ec33b71a6a";
+    private static final String ROSTER = "{\"data\":["
+            + "{\"id\":\"" + RANJIT_ID + "\",\"employee_name\":\"Ranjit\",\"employee_salary\":1000},"
+            + "{\"id\":\"8f64b123-c2bb-4bfa-bcd7-81ec33b71b2a\",\"employee_name\":\"Ranjeet\",\"employee_salary\":2000}"
+            + "]}";
+
+    private final EmployeeApiProperties apiProperties = new EmployeeApiProperties();
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private Function<ClientRequest, ClientResponse> upstream;
+    private ReactiveEmployeeServiceImpl employeeService;
+
+    @BeforeEach
+    void setup() {
+        apiProperties.setAllEmployeeEndpoint("/employee");
+        apiProperties.setEmployeeByIdEndpoint("/employee/{id}");
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://upstream/api/v1")
+                .exchangeFunction(request -> {
+                    synchronized (requests) {
+                        requests.add(request);
+                    }
+                    // Answer off the caller's thread so concurrent subscribers really overlap.
+                    return Mono.fromSupplier(() -> upstream.apply(request))
+                            .delayElement(Duration.ofMillis(50), Schedulers.parallel());
+                })
+                .build();
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(apiProperties, new RosterRefresher(apiProperties));
+        employeeService = new ReactiveEmployeeServiceImpl(
+                webClient,
+                apiProperties,
+                rosterCache,
+                new UpstreamGateway(apiProperties, new UpstreamLimiter(apiProperties)));
+    }
+
+    @Test
+    void concurrentReadsShareOneRosterFetch() {
+        upstream = request -> json(HttpStatus.OK, ROSTER);
+
+        List<Object> results = Flux.merge(
+                        employeeService.getAllEmployees().collectList(),
+                        employeeService.getHighestSalaryOfEmployee(),
+                        employeeService.getTopTenHighestEarningEmployeeNames(),
+                        employeeService.getEmployeesByNameSearch("jee").collectList())
+                .collectList()
+                .block();
+
+        assertEquals(4, results.size());
+        assertTrue(results.contains(2000));
+        assertTrue(results.contains(List.of("Ranjeet", "Ranjit")));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void getEmployeeByIdIsAnsweredFromCachedRoster() {
+        upstream = request -> json(HttpStatus.OK, ROSTER);
+        employeeService.getAllEmployees().blockLast();
+
+        Employee employee = employeeService.getEmployeeById(RANJIT_ID).block();
+
+        assertEquals("Ranjit", employee.getName());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void deleteResolvesNameLocallyAndPatchesRoster() {
+        upstream = request -> request.method() == HttpMethod.DELETE
+                ? json(HttpStatus.OK, "{\"data\":true}")
+                : json(HttpStatus.OK, ROSTER);
+        employeeService.getAllEmployees().blockLast();
+
+        assertEquals(
+                "Employee Ranjit has been deleted",
+                employeeService.deleteEmployee(RANJIT_ID).block());
+        assertEquals(
+                List.of("Ranjeet"),
+                employeeService.getTopTenHighestEarningEmployeeNames().block());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void createAddsEmployeeToCachedRoster() {
+        upstream = request -> request.method() == HttpMethod.POST
+                ? json(
+                        HttpStatus.OK,
+                        "{\"data\":{\"employee_name\":\"Ravi\",\"employee_salary\":5000,"
+                                + "\"id\":\"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507\"}}")
+                : json(HttpStatus.OK, ROSTER);
+        employeeService.getAllEmployees().blockLast();
+
+        Employee created = employeeService
+                .createEmployee(Map.of("name", "Ravi", "salary", "5000", "age", "30", "title", "Developer"))
+                .block();
+
+        assertEquals("Ravi", created.getName());
+        assertEquals(5000, employeeService.getHighestSalaryOfEmployee().block());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void exhaustedBudgetFailsWithoutCallingUpstream() {
+        apiProperties.getLimiter().setInitialBudget(1);
+        apiProperties.getLimiter().setMaxWait(Duration.ZERO);
+        upstream = request -> json(HttpStatus.OK, "{\"data\":{\"employee_name\":\"Ravi\"}}");
+        setup();
+
+        employeeService.getEmployeeById(RANJIT_ID).block();
+        Mono<Employee> second = employeeService.getEmployeeById("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507");
+
+        assertThrows(UpstreamThrottledException.class, second::block);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void upstreamNotFoundIsPropagated() {
+        upstream = request -> json(HttpStatus.NOT_FOUND, "{}");
+
+        Mono<Employee> lookup = employeeService.getEmployeeById(RANJIT_ID);
+
+        assertThrows(WebClientResponseException.NotFound.class, lookup::block);
+    }
+
+    @Test
+    void malformedIdIsNotFoundWithoutCallingUpstream() {
+        upstream = request -> json(HttpStatus.INTERNAL_SERVER_ERROR, "{}");
+
+        ResponseStatusException thrown = assertThrows(
+                ResponseStatusException.class,
+                () -> employeeService.getEmployeeById("not-a-uuid").block());
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+        assertTrue(requests.isEmpty());
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeList;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson binding of the upstream's envelopes, with the {@code employee_*} property names, through a mapper configured
+ * the way Spring Boot configures the api's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EmployeeJsonBenchmark {
+
+    private static final ObjectMapper MAPPER =
+            Jackson2ObjectMapperBuilder.json().build();
+    private static final JavaType EMPLOYEE_RESPONSE =
+            MAPPER.getTypeFactory().constructParametricType(ApiResponse.class, Employee.class);
+
+    @State(Scope.Benchmark)
+    public static class Roster {
+
+        @Param({"1000", "100000", "1000000"})
+        private int employees;
+
+        private final ObjectWriter writer = MAPPER.writerFor(EmployeeList.class);
+        private final ObjectReader reader = MAPPER.readerFor(EmployeeList.class);
+        private EmployeeList list;
+        private byte[] json;
+
+        @Setup
+        public void setUp() throws IOException {
+            list = new EmployeeList(Rosters.employees(employees));
+            json = writer.writeValueAsBytes(list);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Single {
+
+        private final ObjectWriter writer = MAPPER.writerFor(EMPLOYEE_RESPONSE);
+        private final ObjectReader reader = MAPPER.readerFor(EMPLOYEE_RESPONSE);
+        private ApiResponse<Employee> response;
+        private byte[] json;
+
+        @Setup
+        public void setUp() throws IOException {
+            response = new ApiResponse<>(Rosters.employees(1).get(0), "Successfully processed request.");
+            json = writer.writeValueAsBytes(response);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList(Roster roster) throws IOException {
+        return roster.writer.writeValueAsBytes(roster.list);
+    }
+
+    @Benchmark
+    public EmployeeList deserializeEmployeeList(Roster roster) throws IOException {
+        return roster.reader.readValue(roster.json);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeResponse(Single single) throws IOException {
+        return single.writer.writeValueAsBytes(single.response);
+    }
+
+    @Benchmark
+    public ApiResponse<Employee> deserializeEmployeeResponse(Single single) throws IOException {
+        return single.reader.readValue(single.json);
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterRefresher;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import com.reliaquest.api.utils.EmployeeApiProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Read paths of the blocking service against a cached roster that never expires, so no call reaches the upstream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EmployeeServiceBenchmark {
+
+    // One of 21 last names, so it matches about 5% of the roster.
+    private static final String SEARCH_STRING = "lovelace";
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    private EmployeeServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        final var properties = new EmployeeApiProperties();
+        properties.getCache().setTtl(Duration.ofDays(1));
+        properties.getCache().setMaxEntries(Integer.MAX_VALUE);
+        final var rosterCache = new EmployeeRosterCache(properties, new RosterRefresher(properties));
+        rosterCache.put(Rosters.employees(employees));
+        service = new EmployeeServiceImpl();
+        ReflectionTestUtils.setField(service, "apiProperties", properties);
+        ReflectionTestUtils.setField(service, "rosterCache", rosterCache);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNameSearch() {
+        return service.getEmployeesByNameSearch(SEARCH_STRING);
+    }
+
+    @Benchmark
+    public Integer getHighestSalaryOfEmployee() {
+        return service.getHighestSalaryOfEmployee();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return service.getTopTenHighestEarningEmployeeNames();
+    }
+}
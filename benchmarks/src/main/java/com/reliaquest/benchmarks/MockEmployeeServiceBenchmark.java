@@ -0,0 +1,75 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups and deletes on the mock server's roster. Each delete is undone by adding the employee straight back to the
+ * store, so the roster keeps its size; the cost measured is the pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    private List<MockEmployee> roster;
+    private DeleteMockEmployeeInput[] deletes;
+    private MockEmployeeStore store;
+    private MockEmployeeService service;
+    // Walks the roster so lookups do not all hit the same cache lines.
+    private int next;
+
+    @Setup
+    public void setUp() {
+        roster = Rosters.mockEmployees(employees);
+        deletes = new DeleteMockEmployeeInput[employees];
+        for (int i = 0; i < employees; i++) {
+            deletes[i] = new DeleteMockEmployeeInput();
+            deletes[i].setName(roster.get(i).getName());
+        }
+        store = new MockEmployeeStore(roster);
+        service = new MockEmployeeService(new Faker(), store);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(roster.get(advance()).getId());
+    }
+
+    @Benchmark
+    public boolean deleteByName() {
+        final int index = advance();
+        final boolean deleted = service.delete(deletes[index]);
+        store.add(roster.get(index));
+        return deleted;
+    }
+
+    private int advance() {
+        final int index = next;
+        next = index + 1 == employees ? 0 : index + 1;
+        return index;
+    }
+}
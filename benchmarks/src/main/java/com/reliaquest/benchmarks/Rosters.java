@@ -0,0 +1,81 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates the same roster of a given size on every run, so results compare across builds. Names are drawn from small
+ * pools, so they repeat the way a large real roster's do and a search term matches a predictable share of it.
+ */
+final class Rosters {
+
+    private static final long SEED = 42;
+
+    private static final String[] FIRST_NAMES = {
+        "Ada", "Alan", "Anna", "Barbara", "Brian", "Carol", "Dennis", "Donald", "Edsger", "Frances", "Grace", "Guido",
+        "Hedy", "Ivan", "James", "Joan", "John", "Ken", "Leslie", "Linus", "Margaret", "Niklaus", "Radia", "Tim"
+    };
+    private static final String[] LAST_NAMES = {
+        "Allen", "Backus", "Berners-Lee", "Dijkstra", "Goldberg", "Hamilton", "Hopper", "Kay", "Knuth", "Lamarr",
+        "Lamport", "Liskov", "Lovelace", "McCarthy", "Perlman", "Ritchie", "Rossum", "Sutherland", "Thompson", "Turing",
+        "Wirth"
+    };
+    private static final String[] TITLES = {
+        "Engineer", "Senior Engineer", "Staff Engineer", "Manager", "Director", "Analyst", "Designer", "Architect"
+    };
+
+    private Rosters() {}
+
+    static List<Employee> employees(int count) {
+        final var random = new SplittableRandom(SEED);
+        final var employees = new ArrayList<Employee>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = name(random);
+            employees.add(Employee.builder()
+                    .id(uuid(random))
+                    .name(name)
+                    .salary(random.nextInt(30000, 500000))
+                    .age(random.nextInt(16, 70))
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .email(email(name, i))
+                    .build());
+        }
+        return employees;
+    }
+
+    /**
+     * Unlike {@link #employees}, every name is unique, so deleting by name removes a known employee.
+     */
+    static List<MockEmployee> mockEmployees(int count) {
+        final var random = new SplittableRandom(SEED);
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = name(random);
+            employees.add(MockEmployee.builder()
+                    .id(uuid(random))
+                    .name(name + " " + i)
+                    .salary(random.nextInt(30000, 500000))
+                    .age(random.nextInt(16, 70))
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .email(email(name, i))
+                    .build());
+        }
+        return employees;
+    }
+
+    private static String name(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String email(String name, int index) {
+        return name.toLowerCase().replace(' ', '.') + index + "@company.com";
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.benchmarks.load;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The machine-readable result of one run, written as JSON with snake_case names.
+ */
+record LoadReport(
+        Instant started,
+        int employees,
+        double warmupSeconds,
+        double durationSeconds,
+        List<String> serverArguments,
+        List<String> apiArguments,
+        Map<String, Endpoint> endpoints,
+        Upstream upstream) {
+
+    /**
+     * @param throughput completed requests per second over the measured window
+     * @param statuses responses by HTTP status code
+     * @param errors requests that got no response at all
+     */
+    record Endpoint(
+            double targetRate,
+            long requests,
+            double throughput,
+            Map<String, Long> statuses,
+            long errors,
+            Latency latencyMillis) {}
+
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        private static final double NANOS_PER_MILLI = 1e6;
+
+        static Latency of(Histogram histogram) {
+            return new Latency(
+                    histogram.getMean() / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * The api's calls to the mock server during the measured window.
+     *
+     * @param throttled calls the mock server answered with 429
+     * @param rejected calls the api refused itself, before sending them
+     */
+    record Upstream(long calls, long throttled, long rejected) {
+
+        Upstream since(Upstream earlier) {
+            return new Upstream(calls - earlier.calls, throttled - earlier.throttled, rejected - earlier.rejected);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.reliaquest.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.client.UpstreamGateway;
+import com.reliaquest.api.client.UpstreamOperation;
+import com.reliaquest.server.ServerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the mock server and the api in this JVM on ephemeral ports, drives every api endpoint at its own open-loop
+ * rate, and writes per-endpoint throughput and latency percentiles, plus the api's upstream calls, as a JSON report.
+ * See {@link LoadTestOptions} for the arguments; {@code ./gradlew benchmarks:loadTest} runs it.
+ */
+public final class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // Longest wait for requests still in flight when the schedule ends.
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client =
+            HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+    private final AtomicLong created = new AtomicLong();
+
+    private URI api;
+    private List<String> ids;
+    private List<String> searchStrings;
+    // Employees this run may delete: those it created first, then the seeded ones, each only once.
+    private final ConcurrentLinkedDeque<String> deletable = new ConcurrentLinkedDeque<>();
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        try (var server = boot(
+                        ServerApplication.class,
+                        Stream.concat(
+                                        Stream.of("--mock.employees.max=" + options.employees()),
+                                        options.serverArguments().stream())
+                                .toList());
+                var apiContext = boot(
+                        ApiApplication.class,
+                        Stream.concat(
+                                        Stream.of(
+                                                "--employee-api.base-url=http://localhost:" + port(server) + "/api/v1"),
+                                        options.apiArguments().stream())
+                                .toList())) {
+            api = URI.create("http://localhost:" + port(apiContext) + "/");
+            loadRoster();
+
+            final var loads = new ArrayList<OperationLoad>();
+            options.rates().forEach((operation, rate) -> {
+                if (rate > 0) {
+                    loads.add(new OperationLoad(operation, rate, () -> send(operation)));
+                }
+            });
+            final var gateway = apiContext.getBean(UpstreamGateway.class);
+            final Instant started = Instant.now();
+            final long start = System.nanoTime();
+            final long measureFrom = start + options.warmup().toNanos();
+            final long end = measureFrom + options.duration().toNanos();
+            final var threads = loads.stream()
+                    .map(load -> load.start(start, measureFrom, end))
+                    .toList();
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+            final LoadReport.Upstream before = upstreamStats(gateway);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            final long drainBy = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+            while (loads.stream().anyMatch(load -> load.inFlight() > 0) && System.nanoTime() - drainBy < 0) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            final LoadReport.Upstream measured = upstreamStats(gateway).since(before);
+
+            final var endpoints = new LinkedHashMap<String, LoadReport.Endpoint>();
+            loads.forEach(load -> endpoints.put(load.operation().key(), load.report(options.duration())));
+            final var report = new LoadReport(
+                    started,
+                    options.employees(),
+                    options.warmup().toMillis() / 1e3,
+                    options.duration().toMillis() / 1e3,
+                    options.serverArguments(),
+                    options.apiArguments(),
+                    endpoints,
+                    measured);
+            write(report);
+        }
+    }
+
+    /*
+     * Both applications are on the classpath, each with its own application.yml, so each is pointed at the one in
+     * its own jar.
+     */
+    private static ConfigurableApplicationContext boot(Class<?> application, List<String> arguments) {
+        final String jar =
+                application.getProtectionDomain().getCodeSource().getLocation().toString();
+        if (!jar.endsWith(".jar")) {
+            throw new IllegalStateException(
+                    "Expected " + application.getSimpleName() + " in a jar, not " + jar + "; run the loadTest task");
+        }
+        final var args = new LinkedHashMap<String, String>();
+        args.put("spring.config.location", "jar:" + jar + "!/application.yml");
+        args.put("server.port", "0");
+        // Per-request logging would slow the run down and bury the report.
+        args.put("logging.level.com.reliaquest", "WARN");
+        // Repeating an argument would join both values, so a given one replaces the default instead.
+        for (String argument : arguments) {
+            final int equals = argument.indexOf('=');
+            args.put(argument.substring(2, equals), argument.substring(equals + 1));
+        }
+        return new SpringApplicationBuilder(application)
+                .run(args.entrySet().stream()
+                        .map(arg -> "--" + arg.getKey() + "=" + arg.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static LoadReport.Upstream upstreamStats(UpstreamGateway gateway) {
+        long calls = 0;
+        long throttled = 0;
+        long rejected = 0;
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            final var stats = gateway.stats(operation);
+            calls += stats.calls();
+            throttled += stats.throttled();
+            rejected += stats.rejected();
+        }
+        return new LoadReport.Upstream(calls, throttled, rejected);
+    }
+
+    /*
+     * Ids and names for the requests to draw on; this also loads the api's roster cache before the run starts.
+     */
+    private void loadRoster() throws IOException, InterruptedException {
+        final var response = client.send(get(""), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not load the roster through the api: " + response.statusCode());
+        }
+        final var roster = mapper.readTree(response.body());
+        ids = new ArrayList<>(roster.size());
+        searchStrings = new ArrayList<>(roster.size());
+        for (JsonNode employee : roster) {
+            ids.add(employee.get("id").asText());
+            searchStrings.add(employee.get("employee_name").asText().split(" ")[0]);
+        }
+        final var shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled, new Random(0));
+        deletable.addAll(shuffled);
+    }
+
+    private CompletableFuture<Integer> send(Operation operation) {
+        final var random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case GET_ALL -> status(get(""));
+            case SEARCH -> status(get("search/" + searchStrings.get(random.nextInt(searchStrings.size()))));
+            case BY_ID -> status(get(ids.get(random.nextInt(ids.size()))));
+            case HIGHEST_SALARY -> status(get("highestSalary"));
+            case TOP_TEN -> status(get("topTenHighestEarningEmployeeNames"));
+            case CREATE -> create(random);
+            case DELETE -> {
+                final String id = deletable.pollFirst();
+                yield id == null
+                        ? CompletableFuture.failedFuture(new IllegalStateException("Nothing left to delete"))
+                        : status(request(id).DELETE().build());
+            }
+        };
+    }
+
+    /*
+     * The api takes salary and age as strings. Created employees are deleted before the seeded ones.
+     */
+    private CompletableFuture<Integer> create(ThreadLocalRandom random) {
+        final Map<String, String> input = Map.of(
+                "name",
+                "Load Test " + created.incrementAndGet(),
+                "salary",
+                String.valueOf(random.nextInt(30000, 500000)),
+                "age",
+                String.valueOf(random.nextInt(16, 70)),
+                "title",
+                "Load Tester");
+        final HttpRequest request;
+        try {
+            request = request("")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(input)))
+                    .build();
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() == 200) {
+                        try {
+                            deletable.addFirst(
+                                    mapper.readTree(response.body()).get("id").asText());
+                        } catch (IOException | RuntimeException ignored) {
+                            // Still counted by its status; it just cannot be deleted later.
+                        }
+                    }
+                    return response.statusCode();
+                });
+    }
+
+    private CompletableFuture<Integer> status(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(api.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private void write(LoadReport report) throws IOException {
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        mapper.writeValue(options.report().toFile(), report);
+        System.out.printf(
+                "%n%-16s %8s %10s %10s %10s %10s %10s %8s%n",
+                "endpoint", "target/s", "achieved/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        report.endpoints()
+                .forEach((name, endpoint) -> System.out.printf(
+                        "%-16s %8.1f %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                        name,
+                        endpoint.targetRate(),
+                        endpoint.throughput(),
+                        endpoint.latencyMillis().p50(),
+                        endpoint.latencyMillis().p99(),
+                        endpoint.latencyMillis().p999(),
+                        endpoint.latencyMillis().max(),
+                        endpoint.errors()));
+        System.out.printf(
+                "%nUpstream: %d calls, %d throttled (429), %d refused by the api.%nReport: %s%n",
+                report.upstream().calls(),
+                report.upstream().throttled(),
+                report.upstream().rejected(),
+                options.report().toAbsolutePath());
+    }
+}
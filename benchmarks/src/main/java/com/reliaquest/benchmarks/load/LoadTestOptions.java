@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Options given as {@code --name=value} arguments. Arguments starting with {@code server.} or {@code api.} are passed,
+ * without that prefix, to the mock server or the api application, e.g. {@code --server.mock.rate-limit.strategy=unlimited}.
+ */
+record LoadTestOptions(
+        int employees,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Double> rates,
+        Path report,
+        List<String> serverArguments,
+        List<String> apiArguments) {
+
+    private static final String SERVER_PREFIX = "server.";
+    private static final String API_PREFIX = "api.";
+    private static final String RATE_PREFIX = "rate.";
+
+    static LoadTestOptions parse(String... args) {
+        final var options = new LinkedHashMap<String, String>();
+        final var serverArguments = new ArrayList<String>();
+        final var apiArguments = new ArrayList<String>();
+        for (String arg : args) {
+            final int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            final String name = arg.substring(2, equals);
+            final String value = arg.substring(equals + 1);
+            if (name.startsWith(SERVER_PREFIX)) {
+                serverArguments.add("--" + name.substring(SERVER_PREFIX.length()) + "=" + value);
+            } else if (name.startsWith(API_PREFIX)) {
+                apiArguments.add("--" + name.substring(API_PREFIX.length()) + "=" + value);
+            } else {
+                options.put(name, value);
+            }
+        }
+        final var rates = new EnumMap<Operation, Double>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            final String rate = options.remove(RATE_PREFIX + operation.key());
+            rates.put(operation, rate != null ? Double.parseDouble(rate) : operation.defaultRate());
+        }
+        final var parsed = new LoadTestOptions(
+                Integer.parseInt(options.getOrDefault("employees", "1000")),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "30s")),
+                rates,
+                Path.of(options.getOrDefault("report", "build/results/load/report.json")),
+                serverArguments,
+                apiArguments);
+        options.keySet().removeAll(List.of("employees", "warmup", "duration", "report"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet());
+        }
+        return parsed;
+    }
+}
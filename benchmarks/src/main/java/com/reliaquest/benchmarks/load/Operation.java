@@ -0,0 +1,32 @@
+package com.reliaquest.benchmarks.load;
+
+/**
+ * The seven operations of {@code IEmployeeController}, each driven at its own target rate.
+ */
+enum Operation {
+    GET_ALL("get-all", 1),
+    SEARCH("search", 20),
+    BY_ID("by-id", 50),
+    HIGHEST_SALARY("highest-salary", 20),
+    TOP_TEN("top-ten", 20),
+    CREATE("create", 2),
+    DELETE("delete", 2);
+
+    // Used in option names (rate.<key>) and in the report.
+    private final String key;
+    // Requests per second when no rate is given for the operation.
+    private final double defaultRate;
+
+    Operation(String key, double defaultRate) {
+        this.key = key;
+        this.defaultRate = defaultRate;
+    }
+
+    String key() {
+        return key;
+    }
+
+    double defaultRate() {
+        return defaultRate;
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.benchmarks.load;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends one operation at a fixed rate, open loop: each request is due at its own point in the schedule and is sent then
+ * whether or not earlier ones have been answered. Latency is measured from when a request was due, not from when it
+ * was sent, so a stalled server is charged for the requests it held up (no coordinated omission).
+ */
+final class OperationLoad {
+
+    private final Operation operation;
+    private final double rate;
+    private final Supplier<CompletableFuture<Integer>> request;
+    private final Recorder latencies = new Recorder(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param request sends one request and completes with its status code
+     */
+    OperationLoad(Operation operation, double rate, Supplier<CompletableFuture<Integer>> request) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + rate);
+        }
+        this.operation = operation;
+        this.rate = rate;
+        this.request = request;
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Starts sending on a new thread from {@code start} until {@code end}; only requests due from {@code measureFrom}
+     * on are recorded. All three are {@link System#nanoTime()} readings.
+     */
+    Thread start(long start, long measureFrom, long end) {
+        final var thread = new Thread(() -> run(start, measureFrom, end), "load-" + operation.key());
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void run(long start, long measureFrom, long end) {
+        final long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        for (long due = start; due - end < 0; due += interval) {
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(due, due - measureFrom >= 0);
+        }
+    }
+
+    private void send(long due, boolean measured) {
+        inFlight.incrementAndGet();
+        final CompletableFuture<Integer> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException ex) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                errors.increment();
+            }
+            return;
+        }
+        response.whenComplete((status, error) -> {
+            final long latency = System.nanoTime() - due;
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            if (error != null) {
+                errors.increment();
+                return;
+            }
+            latencies.recordValue(latency);
+            statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        });
+    }
+
+    /**
+     * Everything recorded so far; meant to be called once, after the run has drained.
+     */
+    LoadReport.Endpoint report(Duration measured) {
+        final Histogram histogram = latencies.getIntervalHistogram();
+        final var counts = new TreeMap<String, Long>();
+        statuses.forEach((status, count) -> counts.put(String.valueOf(status), count.sum()));
+        final long requests = histogram.getTotalCount() + errors.sum();
+        return new LoadReport.Endpoint(
+                rate,
+                requests,
+                requests / (measured.toNanos() / 1e9),
+                counts,
+                errors.sum(),
+                LoadReport.Latency.of(histogram));
+    }
+}
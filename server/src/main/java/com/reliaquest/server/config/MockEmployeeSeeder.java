@@ -0,0 +1,93 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates the startup roster in parallel, reproducibly from a single seed. Datafaker is only used up front to fill
+ * small pools of names, titles and user names; employees are then assembled from those pools in fixed-size shards, each
+ * drawing from its own generator split off the seeded one, so the roster does not depend on how the shards were
+ * scheduled.
+ */
+class MockEmployeeSeeder {
+
+    private static final int SHARD_SIZE = 16_384;
+    private static final int NAME_POOL_SIZE = 1_000;
+    private static final int TITLE_POOL_SIZE = 300;
+    private static final int USER_NAME_POOL_SIZE = 2_000;
+    // Appended directly; formatting the template once per employee would dominate generation.
+    private static final String EMAIL_SUFFIX = ServerConfiguration.EMAIL_TEMPLATE.formatted("");
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+    private final String[] userNames;
+
+    MockEmployeeSeeder(long seed) {
+        this.seed = seed;
+        final var faker = new Faker(Locale.getDefault(), new Random(seed));
+        this.firstNames = pool(NAME_POOL_SIZE, () -> faker.name().firstName());
+        this.lastNames = pool(NAME_POOL_SIZE, () -> faker.name().lastName());
+        this.titles = pool(TITLE_POOL_SIZE, () -> faker.job().title());
+        this.userNames =
+                pool(USER_NAME_POOL_SIZE, () -> faker.twitter().userName().toLowerCase());
+    }
+
+    List<MockEmployee> generate(int count) {
+        final int shards = (count + SHARD_SIZE - 1) / SHARD_SIZE;
+        // Split off in shard order up front, so each shard's generator is fixed by the seed alone.
+        final var root = new SplittableRandom(seed);
+        final var randoms = new SplittableRandom[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            randoms[shard] = root.split();
+        }
+        final var employees = new MockEmployee[count];
+        IntStream.range(0, shards).parallel().forEach(shard -> fillShard(employees, shard, randoms[shard]));
+        return Arrays.asList(employees);
+    }
+
+    private void fillShard(MockEmployee[] employees, int shard, SplittableRandom random) {
+        final int end = Math.min(employees.length, (shard + 1) * SHARD_SIZE);
+        for (int index = shard * SHARD_SIZE; index < end; index++) {
+            employees[index] = MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(pick(firstNames, random) + " " + pick(lastNames, random))
+                    .salary(random.nextInt(30000, 500000))
+                    .age(random.nextInt(16, 70))
+                    .title(pick(titles, random))
+                    // The index keeps addresses unique however small the user name pool is.
+                    .email(pick(userNames, random) + index + EMAIL_SUFFIX)
+                    .build();
+        }
+    }
+
+    /*
+     * Version 4 layout, with the random bits drawn from the shard's generator instead of SecureRandom.
+     */
+    private static UUID randomUuid(SplittableRandom random) {
+        final long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static String pick(String[] pool, SplittableRandom random) {
+        return pool[random.nextInt(pool.length)];
+    }
+
+    private static String[] pool(int size, Supplier<String> generator) {
+        final var pool = new String[size];
+        for (int i = 0; i < size; i++) {
+            pool[i] = generator.get();
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mock.rate-limit")
+@Data
+public class RateLimitProperties {
+    private Strategy strategy = Strategy.RANDOM;
+    private Key key = Key.GLOBAL;
+    // Request header naming the client when keyed by HEADER; requests without it are keyed by remote address.
+    private String header = "X-Client-Id";
+    // Clients tracked before those back at a full budget are forgotten.
+    private int maxClients = 10_000;
+    private Random random = new Random();
+    private TokenBucket tokenBucket = new TokenBucket();
+
+    public enum Strategy {
+        // A request limit and lockout drawn at random on startup.
+        RANDOM,
+        // A steady rate with bursts up to the full budget.
+        TOKEN_BUCKET,
+        UNLIMITED
+    }
+
+    public enum Key {
+        // Every caller shares one budget.
+        GLOBAL,
+        REMOTE_ADDRESS,
+        HEADER
+    }
+
+    @Data
+    public static class Random {
+        // The limit is drawn from [min-requests, max-requests), the lockout from [min-backoff, max-backoff).
+        private int minRequests = 5;
+        private int maxRequests = 10;
+        private Duration minBackoff = Duration.ofSeconds(30);
+        private Duration maxBackoff = Duration.ofSeconds(90);
+    }
+
+    @Data
+    public static class TokenBucket {
+        // Requests admitted per window, all of which may arrive at once.
+        private int requests = 10;
+        private Duration window = Duration.ofSeconds(30);
+    }
+}
@@ -1,18 +1,18 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.web.RandomRequestLimiter;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimiter;
+import com.reliaquest.server.web.TokenBucketRequestLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,39 +21,108 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    // Larger rosters are only summarized; logging each employee would dominate startup.
+    private static final int DEBUG_LOGGED_EMPLOYEES = 100;
+
+    private final RateLimitProperties rateLimitProperties;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seeded once at startup; the store is modified concurrently by the CRUD endpoints from then on. Without
+     * mock.employees.seed a random seed is used and logged, so any roster can be reproduced.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees, @Value("${mock.employees.seed:#{null}}") Long seed) {
+        final long resolvedSeed =
+                seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        final long started = System.nanoTime();
+        final var employees = new MockEmployeeSeeder(resolvedSeed).generate(maxEmployees);
+        final var store = new MockEmployeeStore(employees);
+        log.info(
+                "Seeded {} employees from seed {} in {} ms.",
+                maxEmployees,
+                resolvedSeed,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        if (maxEmployees <= DEBUG_LOGGED_EMPLOYEES) {
+            employees.forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+        }
+        return store;
+    }
+
+    @Bean
+    public RequestLimiter requestLimiter() {
+        final var properties = rateLimitProperties;
+        return switch (properties.getStrategy()) {
+            case RANDOM -> {
+                final var random = properties.getRandom();
+                final var generator = RandomGenerator.getDefault();
+                final var limiter = new RandomRequestLimiter(
+                        (int) draw(generator, random.getMinRequests(), random.getMaxRequests()),
+                        Duration.ofMillis(draw(
+                                generator,
+                                random.getMinBackoff().toMillis(),
+                                random.getMaxBackoff().toMillis())),
+                        properties.getMaxClients());
+                log.info(
+                        "Rate limiting {} to {} requests, then {} s of backoff.",
+                        properties.getKey(),
+                        limiter.requests(),
+                        limiter.backoff().toSeconds());
+                yield limiter;
+            }
+            case TOKEN_BUCKET -> {
+                final var bucket = properties.getTokenBucket();
+                log.info(
+                        "Rate limiting {} to {} requests per {}.",
+                        properties.getKey(),
+                        bucket.getRequests(),
+                        bucket.getWindow());
+                yield new TokenBucketRequestLimiter(
+                        bucket.getRequests(), bucket.getWindow(), properties.getMaxClients());
+            }
+            case UNLIMITED -> RequestLimiter.UNLIMITED;
+        };
+    }
+
+    /*
+     * From [min, max), or exactly min when the range is empty.
      */
+    private static long draw(RandomGenerator generator, long min, long max) {
+        return max > min ? generator.nextLong(min, max) : min;
+    }
+
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public RequestLimitInterceptor requestLimitInterceptor() {
+        return new RequestLimitInterceptor(requestLimiter(), clientKey());
     }
 
+    /*
+     * Only the employee API is limited, so scraping /actuator never uses up a client's budget.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(requestLimitInterceptor()).addPathPatterns("/api/**");
+    }
+
+    private Function<HttpServletRequest, String> clientKey() {
+        final String header = rateLimitProperties.getHeader();
+        return switch (rateLimitProperties.getKey()) {
+            case GLOBAL -> request -> "";
+            case REMOTE_ADDRESS -> HttpServletRequest::getRemoteAddr;
+            case HEADER -> request -> {
+                final String client = request.getHeader(header);
+                return client != null ? client : request.getRemoteAddr();
+            };
+        };
     }
 }
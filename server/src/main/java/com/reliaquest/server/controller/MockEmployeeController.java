@@ -1,34 +1,129 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeesInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.ChangeStreamBroadcaster;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final MockEmployeeService mockEmployeeService;
+    private final ChangeStreamBroadcaster changeStreamBroadcaster;
+    private final ObjectMapper objectMapper;
 
+    /*
+     * The roster representations carry its version as an ETag; Spring answers a matching If-None-Match with a bodiless
+     * 304 before any employee is written.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees() {
+        final var eTag = mockEmployeeService.rosterETag();
+        return ResponseEntity.ok().eTag(eTag).body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    /**
+     * The roster as newline-delimited JSON, written one employee at a time without the {@link Response} envelope.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(WebRequest request) {
+        final var eTag = mockEmployeeService.rosterETag();
+        // Streaming bodies skip the automatic ETag check that other ResponseEntity bodies get.
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        final var employees = mockEmployeeService.getMockEmployees();
+        final var writer =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                for (MockEmployee employee : employees) {
+                    writer.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                }
+            }
+        });
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<Response<MockEmployeePage>> getEmployeePage(
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "after", required = false) UUID after,
+            @RequestParam(value = "before", required = false) UUID before) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        final var eTag = mockEmployeeService.rosterETag();
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(Response.handledWith(mockEmployeeService.page(after, before, limit)));
+    }
+
+    /**
+     * Creates and deletes logged after sequence number {@code since}, typically the roster ETag a client last saw. The
+     * response is tagged with the roster version it leads up to. A 410 means the log no longer reaches back that far,
+     * and the client has to fetch the whole roster again.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getChanges(@RequestParam("since") long since) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().body(Response.error("since must not be negative"));
+        }
+        return mockEmployeeService
+                .changesSince(since)
+                .map(changes -> ResponseEntity.ok()
+                        .eTag(MockEmployeeService.eTagOf(changes.latestSeq()))
+                        .body(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Changes since " + since + " are no longer available")));
+    }
+
+    /**
+     * The change log as Server-Sent Events, replayed from {@code Last-Event-ID} when a client reconnects, else from
+     * {@code since}, else from now. See {@link ChangeStreamBroadcaster} for the events sent.
+     */
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "since", required = false) Long since) {
+        final long from = lastEventId != null ? lastEventId : since != null ? since : mockEmployeeService.latestSeq();
+        if (from < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(changeStreamBroadcaster.subscribe(from));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +143,14 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    @PostMapping("/batch")
+    public Response<List<MockEmployee>> createEmployees(@Valid @RequestBody CreateMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.createAll(input.getEmployees()));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<Boolean>> deleteEmployees(@Valid @RequestBody DeleteMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.deleteAll(input.getEmployees()));
+    }
 }
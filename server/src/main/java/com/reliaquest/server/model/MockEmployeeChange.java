@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * One entry of the roster change log. Sequence numbers start at 1 and increase by one per change.
+ */
+public record MockEmployeeChange(long seq, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
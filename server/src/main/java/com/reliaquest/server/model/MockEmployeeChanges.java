@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * The changes after a given sequence number, oldest first. {@code latestSeq} is the {@code since} value for the next
+ * poll and the roster version the changes lead up to.
+ */
+public record MockEmployeeChanges(List<MockEmployeeChange> changes, @JsonProperty("latest_seq") long latestSeq) {}
@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One keyset page of the roster, ordered by id. {@code nextCursor} is the {@code after} value for the following page,
+ * or {@code null} on the last one.
+ */
+public record MockEmployeePage(List<MockEmployee> employees, @JsonProperty("next_cursor") UUID nextCursor) {}
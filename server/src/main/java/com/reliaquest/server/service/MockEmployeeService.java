@@ -4,11 +4,24 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,18 +31,109 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class MockEmployeeService {
+public class MockEmployeeService implements MeterBinder {
+
+    // Changes retained for pollers; one that falls further behind has to reload the whole roster.
+    public static final int CHANGE_LOG_CAPACITY = 10_000;
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    // Sequence number of the last logged change, which doubles as the roster version. Bumped after every change to
+    // the roster; read it before the roster so a response is never older than its tag, and replaying
+    // changesSince(tag) onto it is safe.
+    private final AtomicLong version = new AtomicLong();
+
+    // Guarded by itself, as is every change to the store; appended to in sequence order.
+    private final Deque<MockEmployeeChange> changeLog = new ArrayDeque<>();
+
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Strong ETag for the current roster version, shared by every representation of the roster. Its value is the
+     * sequence number of the last change, so a client holding a tagged roster can poll {@link #changesSince} with it.
+     */
+    public String rosterETag() {
+        return eTagOf(latestSeq());
+    }
+
+    public long latestSeq() {
+        return version.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mock.employees", mockEmployeeStore, MockEmployeeStore::size)
+                .description("Employees currently in the store")
+                .register(registry);
+        Gauge.builder("mock.employees.version", version, AtomicLong::get)
+                .description("Sequence number of the last change to the roster")
+                .register(registry);
+    }
+
+    public static String eTagOf(long seq) {
+        return "\"" + seq + "\"";
+    }
+
+    /**
+     * Registers a callback run after each change is logged, outside the log's lock. It only signals that
+     * {@link #changesSince} has more to offer, so it must not block.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Every logged change after {@code since}, oldest first, or empty if some of them have already been dropped from
+     * the log or {@code since} is ahead of it, as after a restart. The cost is proportional to the number of changes
+     * returned, not to the roster size.
+     */
+    public Optional<MockEmployeeChanges> changesSince(long since) {
+        synchronized (changeLog) {
+            final long latest = version.get();
+            final var oldest = changeLog.peekFirst();
+            if (since > latest || (since < latest && (oldest == null || oldest.seq() > since + 1))) {
+                return Optional.empty();
+            }
+            final var changes = new ArrayList<MockEmployeeChange>();
+            final Iterator<MockEmployeeChange> newestFirst = changeLog.descendingIterator();
+            while (newestFirst.hasNext()) {
+                final var change = newestFirst.next();
+                if (change.seq() <= since) {
+                    break;
+                }
+                changes.add(change);
+            }
+            Collections.reverse(changes);
+            return Optional.of(new MockEmployeeChanges(changes, latest));
+        }
+    }
+
+    /**
+     * The whole roster as an immutable snapshot; safe to serialize while the roster keeps changing.
+     */
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.all();
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    /**
+     * Keyset page of employees ordered by id, strictly between {@code after} and {@code before} when given. Unlike an
+     * offset, the cursor stays valid while employees are created and deleted between pages.
+     */
+    public MockEmployeePage page(UUID after, UUID before, int limit) {
+        final var employees = mockEmployeeStore.range(after, before).values().stream()
+                .limit(limit + 1L)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (employees.size() <= limit) {
+            return new MockEmployeePage(employees, null);
+        }
+        employees.remove(limit);
+        return new MockEmployeePage(employees, employees.get(limit - 1).getId());
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +141,74 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        record(MockEmployeeChange.Type.CREATED, () -> {
+            mockEmployeeStore.add(mockEmployee);
+            return List.of(mockEmployee);
+        });
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates every input in order and adds them to the roster in one step.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        for (CreateMockEmployeeInput input : inputs) {
+            created.add(MockEmployee.from(
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()),
+                    input));
+        }
+        record(MockEmployeeChange.Type.CREATED, () -> {
+            mockEmployeeStore.addAll(created);
+            return created;
+        });
+        log.debug("Added {} employees.", created.size());
+        return created;
+    }
+
+    /**
+     * Applies each delete in order, as {@link #delete} would; the result for each input says whether it removed one.
+     */
+    public List<Boolean> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var deleted = new ArrayList<Boolean>(inputs.size());
+        for (DeleteMockEmployeeInput input : inputs) {
+            deleted.add(delete(input));
+        }
+        return deleted;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final var removed = record(MockEmployeeChange.Type.DELETED, () -> mockEmployeeStore
+                .removeFirstByName(input.getName())
+                .map(List::of)
+                .orElse(List.of()));
+        if (removed.isEmpty()) {
+            return false;
         }
+        log.debug("Removed employee: {}", removed.get(0));
+        return true;
+    }
 
-        return false;
+    /*
+     * Applies a change to the store and logs it under one lock, so the log's order is the order the store saw; a
+     * create and a delete of the same employee can never be logged the other way round. Reads take no part in this.
+     */
+    private List<MockEmployee> record(MockEmployeeChange.Type type, Supplier<List<MockEmployee>> change) {
+        final List<MockEmployee> employees;
+        synchronized (changeLog) {
+            employees = change.get();
+            for (MockEmployee employee : employees) {
+                changeLog.addLast(new MockEmployeeChange(version.incrementAndGet(), type, employee));
+                if (changeLog.size() > CHANGE_LOG_CAPACITY) {
+                    changeLog.removeFirst();
+                }
+            }
+        }
+        if (!employees.isEmpty()) {
+            changeListeners.forEach(Runnable::run);
+        }
+        return employees;
     }
 }
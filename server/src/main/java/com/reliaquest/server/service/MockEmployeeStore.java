@@ -0,0 +1,188 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+
+/**
+ * Concurrent in-memory roster. Reads take no lock: lookups go to a hash map by id, keyset pages to a skip list in id
+ * order, and the whole roster is served as an immutable snapshot in insertion order, rebuilt only when someone asks
+ * for it after a write. Writes are serialized by one lock, which also guards the case-insensitive name
+ * index used to delete by name.
+ */
+public class MockEmployeeStore {
+
+    private final ConcurrentHashMap<UUID, Entry> byId;
+    private final ConcurrentSkipListMap<UUID, MockEmployee> inIdOrder;
+    private final ConcurrentSkipListMap<Long, MockEmployee> inInsertionOrder;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock; each queue is in insertion order, so its head is the employee a delete by name removes.
+    private final Map<String, ArrayDeque<Entry>> byName = new HashMap<>();
+    // Guarded by writeLock.
+    private long nextPosition;
+
+    private final AtomicLong modifications = new AtomicLong();
+    // Stale from the start, so the first read copies the seeded roster.
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(-1, List.of()));
+
+    public MockEmployeeStore(Collection<MockEmployee> employees) {
+        byId = new ConcurrentHashMap<>(employees.size());
+        // Skip lists copied from a sorted map are built in one linear pass, far cheaper than inserting one at a time.
+        final var inIdOrder = new TreeMap<UUID, MockEmployee>();
+        final var inInsertionOrder = new TreeMap<Long, MockEmployee>();
+        for (MockEmployee employee : employees) {
+            final var superseded = byId.get(employee.getId());
+            inIdOrder.put(employee.getId(), employee);
+            inInsertionOrder.put(index(employee).position(), employee);
+            if (superseded != null) {
+                inInsertionOrder.remove(superseded.position());
+            }
+        }
+        this.inIdOrder = new ConcurrentSkipListMap<>(inIdOrder);
+        this.inInsertionOrder = new ConcurrentSkipListMap<>(inInsertionOrder);
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final var entry = byId.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.employee());
+    }
+
+    /**
+     * Every employee in insertion order, as an immutable list that later writes do not affect. Readers that find the
+     * snapshot stale at the same moment each copy the roster rather than wait on one another; the newest copy is kept.
+     */
+    public List<MockEmployee> all() {
+        final var current = snapshot.get();
+        // Read the count first: a write racing the copy makes the snapshot look stale, never current.
+        final long at = modifications.get();
+        if (current.modifications() == at) {
+            return current.employees();
+        }
+        final var rebuilt = new Snapshot(at, List.copyOf(inInsertionOrder.values()));
+        snapshot.accumulateAndGet(
+                rebuilt, (published, next) -> next.modifications() > published.modifications() ? next : published);
+        return rebuilt.employees();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Employees with ids strictly between {@code after} and {@code before}, either of which may be null, in id order.
+     */
+    public NavigableMap<UUID, MockEmployee> range(UUID after, UUID before) {
+        if (after != null && before != null) {
+            return after.compareTo(before) < 0
+                    ? inIdOrder.subMap(after, false, before, false)
+                    : Collections.emptyNavigableMap();
+        }
+        if (after != null) {
+            return inIdOrder.tailMap(after, false);
+        }
+        return before != null ? inIdOrder.headMap(before, false) : inIdOrder;
+    }
+
+    public void add(@NonNull MockEmployee employee) {
+        addAll(List.of(employee));
+    }
+
+    public void addAll(@NonNull Collection<MockEmployee> employees) {
+        writeLock.lock();
+        try {
+            for (MockEmployee employee : employees) {
+                final var superseded = byId.get(employee.getId());
+                inIdOrder.put(employee.getId(), employee);
+                inInsertionOrder.put(index(employee).position(), employee);
+                if (superseded != null) {
+                    inInsertionOrder.remove(superseded.position());
+                }
+            }
+            modifications.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the earliest added employee whose name matches, ignoring case.
+     */
+    public Optional<MockEmployee> removeFirstByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        writeLock.lock();
+        try {
+            final var namesakes = byName.get(nameKey(name));
+            if (namesakes == null) {
+                return Optional.empty();
+            }
+            final var entry = namesakes.pollFirst();
+            if (namesakes.isEmpty()) {
+                byName.remove(nameKey(name));
+            }
+            byId.remove(entry.employee().getId());
+            inIdOrder.remove(entry.employee().getId());
+            inInsertionOrder.remove(entry.position());
+            modifications.incrementAndGet();
+            return Optional.of(entry.employee());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*
+     * Indexes by id and name, superseding any employee with the same id; the ordered indexes are left to the caller.
+     */
+    private Entry index(MockEmployee employee) {
+        final var entry = new Entry(nextPosition++, employee);
+        final var previous = byId.put(employee.getId(), entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (employee.getName() != null) {
+            // Most names are unique, so each queue starts at the smallest capacity.
+            byName.computeIfAbsent(nameKey(employee.getName()), ignored -> new ArrayDeque<>(1))
+                    .addLast(entry);
+        }
+        return entry;
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.employee().getName() == null) {
+            return;
+        }
+        final var key = nameKey(entry.employee().getName());
+        final var namesakes = byName.get(key);
+        if (namesakes != null) {
+            namesakes.remove(entry);
+            if (namesakes.isEmpty()) {
+                byName.remove(key);
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long position, MockEmployee employee) {}
+
+    private record Snapshot(long modifications, List<MockEmployee> employees) {}
+}
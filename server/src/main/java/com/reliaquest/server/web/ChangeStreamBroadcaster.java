@@ -0,0 +1,147 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the roster change log to Server-Sent Events subscribers as it grows. Each subscriber reads the log from its own
+ * position, so a slow one only delays itself and a burst of changes is sent in one pass. Events are named
+ * {@code change}, with the sequence number as their id and the change as JSON data. A data-less {@code heartbeat}
+ * carrying the last id sent follows every {@link #HEARTBEAT_INTERVAL}, and a data-less {@code reset} ends the stream
+ * when the log no longer reaches back to a subscriber.
+ */
+@Slf4j
+@Component
+public class ChangeStreamBroadcaster implements DisposableBean {
+
+    public static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(10);
+
+    private final MockEmployeeService mockEmployeeService;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChangeStreamBroadcaster(MockEmployeeService mockEmployeeService) {
+        this.mockEmployeeService = mockEmployeeService;
+        mockEmployeeService.addChangeListener(() -> subscribers.forEach(Subscriber::signal));
+        heartbeats.scheduleAtFixedRate(
+                () -> subscribers.forEach(Subscriber::heartbeat),
+                HEARTBEAT_INTERVAL.toMillis(),
+                HEARTBEAT_INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream that first replays the changes after {@code since} and then follows new ones. It never times out;
+     * a subscriber that went away is dropped when a heartbeat fails to reach it.
+     */
+    public SseEmitter subscribe(long since) {
+        final var emitter = new SseEmitter(0L);
+        final var subscriber = new Subscriber(emitter, since);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        log.debug("Change stream subscribed from {}; {} subscribers.", since, subscribers.size());
+        subscriber.signal();
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Signals not yet drained; only the sender that moves it off zero runs, so sends are never concurrent.
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean heartbeatDue;
+        private long lastSent;
+
+        Subscriber(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.lastSent = since;
+        }
+
+        void signal() {
+            if (pending.getAndIncrement() == 0) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void heartbeat() {
+            heartbeatDue = true;
+            signal();
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                try {
+                    if (!send()) {
+                        return;
+                    }
+                } catch (IOException | IllegalStateException ex) {
+                    log.debug("Change stream subscriber dropped: {}", ex.getMessage());
+                    subscribers.remove(this);
+                    emitter.completeWithError(ex);
+                    return;
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /*
+         * Returns false once the stream has been ended with a reset.
+         */
+        private boolean send() throws IOException {
+            Optional<MockEmployeeChanges> changes = mockEmployeeService.changesSince(lastSent);
+            if (changes.isEmpty()) {
+                subscribers.remove(this);
+                emitter.send(SseEmitter.event()
+                        .name("reset")
+                        .comment("Changes since " + lastSent + " are no longer available"));
+                emitter.complete();
+                return false;
+            }
+            for (var change : changes.get().changes()) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.seq()))
+                        .name("change")
+                        .data(change, MediaType.APPLICATION_JSON));
+                lastSent = change.seq();
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                emitter.send(SseEmitter.event().id(String.valueOf(lastSent)).name("heartbeat"));
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps each client's limiter state packed into a single {@code long}, updated by compare-and-set, so a request takes
+ * no lock and allocates nothing once its client is known. Clients never contend with each other: their states live in
+ * separate hash bins. Once more than {@code maxClients} are tracked, clients whose state is back to its initial value
+ * are forgotten, at most once per sweep interval.
+ */
+abstract class PerClientRequestLimiter implements RequestLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final ConcurrentHashMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final int maxClients;
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    PerClientRequestLimiter(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * The state a client starts from, and returns to once it has been idle long enough to be forgotten.
+     */
+    abstract long initialState(long now);
+
+    abstract boolean isIdle(long state, long now);
+
+    final AtomicLong state(String client, long now) {
+        final var state = states.get(client);
+        if (state != null) {
+            return state;
+        }
+        if (states.size() >= maxClients) {
+            sweep(now);
+        }
+        return states.computeIfAbsent(client, ignored -> new AtomicLong(initialState(now)));
+    }
+
+    int trackedClients() {
+        return states.size();
+    }
+
+    /*
+     * A client updating its state while it is swept only loses a state that was idle anyway.
+     */
+    private void sweep(long now) {
+        final long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            states.values().removeIf(state -> isIdle(state.get(), now));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+
+/**
+ * The mock server's original limiter: a client may make {@code requests} requests, after which it is locked out until
+ * {@code backoff} has passed since the last one it was allowed. Both are drawn at random when the server starts, so
+ * callers cannot tune themselves to one setting. Each client's count and the time of its last admitted request, in
+ * milliseconds since this limiter was created, are packed into one {@code long}.
+ */
+public class RandomRequestLimiter extends PerClientRequestLimiter {
+
+    private static final int COUNT_SHIFT = 48;
+    private static final long MILLIS_MASK = (1L << COUNT_SHIFT) - 1;
+
+    private final int requests;
+    private final long backoffMillis;
+    private final long origin = System.nanoTime();
+
+    public RandomRequestLimiter(int requests, Duration backoff, int maxClients) {
+        super(maxClients);
+        if (requests < 1 || requests >= 1 << (Long.SIZE - COUNT_SHIFT - 1)) {
+            throw new IllegalArgumentException("Request limit out of range: " + requests);
+        }
+        this.requests = requests;
+        this.backoffMillis = backoff.toMillis();
+    }
+
+    public int requests() {
+        return requests;
+    }
+
+    public Duration backoff() {
+        return Duration.ofMillis(backoffMillis);
+    }
+
+    @Override
+    public long acquire(String client, long now) {
+        final var state = state(client, now);
+        final long nowMillis = millis(now);
+        while (true) {
+            final long current = state.get();
+            final long count = current >>> COUNT_SHIFT;
+            final long next;
+            if (count >= requests) {
+                final long elapsed = nowMillis - (current & MILLIS_MASK);
+                if (elapsed < backoffMillis) {
+                    return (backoffMillis - elapsed) * 1_000_000L;
+                }
+                next = pack(1, nowMillis);
+            } else {
+                next = pack(count + 1, nowMillis);
+            }
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void release(String client, long now) {
+        final var state = state(client, now);
+        while (true) {
+            final long current = state.get();
+            final long count = current >>> COUNT_SHIFT;
+            if (count == 0 || state.compareAndSet(current, pack(count - 1, current & MILLIS_MASK))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    long initialState(long now) {
+        return 0;
+    }
+
+    @Override
+    boolean isIdle(long state, long now) {
+        return state >>> COUNT_SHIFT == 0 || millis(now) - (state & MILLIS_MASK) >= backoffMillis;
+    }
+
+    private long millis(long now) {
+        return (now - origin) / 1_000_000L;
+    }
+
+    private static long pack(long count, long millis) {
+        return count << COUNT_SHIFT | millis;
+    }
+}
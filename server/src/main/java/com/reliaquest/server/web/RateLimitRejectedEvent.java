@@ -0,0 +1,34 @@
+package com.reliaquest.server.web;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A request the {@link RequestLimitInterceptor} answered with {@code 429 Too Many Requests}.
+ */
+@Name("com.reliaquest.server.RateLimitRejected")
+@Label("Rate Limit Rejection")
+@Category({"Mock Employee API", "Rate Limiting"})
+@StackTrace(false)
+class RateLimitRejectedEvent extends Event {
+
+    @Label("Client")
+    @Description("The key the request was limited by; empty when all clients share one budget")
+    String client;
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Wait")
+    @Description("How long the limiter asked the client to wait, before rounding to whole seconds")
+    @Timespan
+    long wait;
+}
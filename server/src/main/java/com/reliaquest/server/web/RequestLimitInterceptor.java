@@ -0,0 +1,93 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers {@code 429 Too Many Requests}, with a {@code Retry-After} in whole seconds, once the calling client has used
+ * up its budget with the configured {@link RequestLimiter}.
+ */
+public class RequestLimitInterceptor implements HandlerInterceptor, MeterBinder {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String COUNTED_ATTRIBUTE = RequestLimitInterceptor.class.getName() + ".counted";
+
+    private final RequestLimiter limiter;
+    private final Function<HttpServletRequest, String> clientKey;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder released = new LongAdder();
+
+    public RequestLimitInterceptor(RequestLimiter limiter, Function<HttpServletRequest, String> clientKey) {
+        this.limiter = limiter;
+        this.clientKey = clientKey;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streamed and event-stream responses finish on an async dispatch of a request that was already counted.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final String client = clientKey.apply(request);
+        final long wait = limiter.acquire(client, System.nanoTime());
+        if (wait > 0) {
+            rejected.increment();
+            final var event = new RateLimitRejectedEvent();
+            if (event.isEnabled()) {
+                event.client = client;
+                event.method = request.getMethod();
+                event.path = request.getRequestURI();
+                event.wait = wait;
+                event.commit();
+            }
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            // Rounded up, so a client that waits as told is admitted.
+            final long seconds = (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, seconds)));
+            return false;
+        }
+        admitted.increment();
+        request.setAttribute(COUNTED_ATTRIBUTE, client);
+        return true;
+    }
+
+    /*
+     * A 304 only confirms the caller's copy is current, so it is handed back to the budget once it is known.
+     */
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED.value()
+                && request.getAttribute(COUNTED_ATTRIBUTE) instanceof String client) {
+            released.increment();
+            limiter.release(client, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registerRequests(registry, "admitted", admitted);
+        registerRequests(registry, "rejected", rejected);
+        FunctionCounter.builder("mock.rate.limit.released", released, LongAdder::sum)
+                .description("Admitted requests handed back to the budget because they were answered with 304")
+                .register(registry);
+    }
+
+    private static void registerRequests(MeterRegistry registry, String result, LongAdder count) {
+        FunctionCounter.builder("mock.rate.limit.requests", count, LongAdder::sum)
+                .description("Requests checked against the rate limit; rejected ones were answered with 429")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.server.web;
+
+/**
+ * Decides whether a client may make another request. Times are {@link System#nanoTime()} readings taken once per
+ * request by the caller, so an implementation never reads the clock itself.
+ */
+public interface RequestLimiter {
+
+    /**
+     * Counts a request from {@code client} if the client is within its limit.
+     *
+     * @return 0 when the request is admitted, otherwise the nanoseconds until the client should retry
+     */
+    long acquire(String client, long now);
+
+    /**
+     * Hands back a request counted by {@link #acquire} that turned out not to need the budget.
+     */
+    void release(String client, long now);
+
+    RequestLimiter UNLIMITED = new RequestLimiter() {
+        @Override
+        public long acquire(String client, long now) {
+            return 0;
+        }
+
+        @Override
+        public void release(String client, long now) {}
+    };
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+
+/**
+ * Token bucket holding {@code requests} tokens and refilling them evenly over {@code window}, so a client may burst the
+ * whole budget and then make one request per {@code window / requests}. Each client's bucket is tracked as the single
+ * instant at which it will be full again (the generic cell rate algorithm), so admitting a request is one
+ * compare-and-set on that instant.
+ */
+public class TokenBucketRequestLimiter extends PerClientRequestLimiter {
+
+    // Time one token takes to refill.
+    private final long interval;
+    // How far the full-again instant may run ahead of now before requests are refused.
+    private final long tolerance;
+
+    public TokenBucketRequestLimiter(int requests, Duration window, int maxClients) {
+        super(maxClients);
+        if (requests < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("A token bucket needs at least one request per positive window");
+        }
+        this.interval = Math.max(1, window.toNanos() / requests);
+        this.tolerance = interval * (requests - 1);
+    }
+
+    @Override
+    public long acquire(String client, long now) {
+        final var state = state(client, now);
+        while (true) {
+            final long fullAt = state.get();
+            final long start = fullAt - now > 0 ? fullAt : now;
+            final long ahead = start - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (state.compareAndSet(fullAt, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void release(String client, long now) {
+        final var state = state(client, now);
+        while (true) {
+            final long fullAt = state.get();
+            if (fullAt - now <= 0) {
+                return;
+            }
+            final long refunded = fullAt - interval - now > 0 ? fullAt - interval : now;
+            if (state.compareAndSet(fullAt, refunded)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    long initialState(long now) {
+        return now;
+    }
+
+    @Override
+    boolean isIdle(long fullAt, long now) {
+        return fullAt - now <= 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private final MockEmployeeService service =
+            new MockEmployeeService(new Faker(Locale.ENGLISH), new MockEmployeeStore(List.of()));
+
+    @Test
+    void changeLogReplaysToTheStoreWhileCreatesAndDeletesRace() throws InterruptedException {
+        final int pairs = 500;
+        final var start = new CountDownLatch(1);
+        final var threads = new ArrayList<Thread>();
+        for (int i = 0; i < pairs; i++) {
+            final String name = "Racer " + i;
+            threads.add(new Thread(() -> {
+                await(start);
+                service.create(input(name));
+            }));
+            threads.add(new Thread(() -> {
+                await(start);
+                // Retried until the create has landed, so each delete chases its create as closely as possible.
+                while (!service.delete(deleteInput(name))) {
+                    Thread.onSpinWait();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        final List<MockEmployeeChange> changes =
+                service.changesSince(0).orElseThrow().changes();
+        assertEquals(2 * pairs, changes.size());
+        final Map<UUID, MockEmployee> replayed = new HashMap<>();
+        for (MockEmployeeChange change : changes) {
+            if (change.type() == MockEmployeeChange.Type.CREATED) {
+                replayed.put(change.employee().getId(), change.employee());
+            } else {
+                assertNotNull(replayed.remove(change.employee().getId()), "Deleted before it was created");
+            }
+        }
+        assertEquals(
+                service.getMockEmployees().stream().map(MockEmployee::getId).collect(Collectors.toSet()),
+                replayed.keySet());
+        assertTrue(replayed.isEmpty());
+    }
+
+    @Test
+    void changesSinceIsEmptyOnceTheLogNoLongerReachesBack() {
+        for (int i = 0; i < MockEmployeeService.CHANGE_LOG_CAPACITY + 1; i++) {
+            service.create(input("Employee " + i));
+        }
+
+        assertTrue(service.changesSince(0).isEmpty());
+        assertEquals(
+                MockEmployeeService.CHANGE_LOG_CAPACITY,
+                service.changesSince(1).orElseThrow().changes().size());
+        assertTrue(service.changesSince(service.latestSeq() + 1).isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100_000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput deleteInput(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
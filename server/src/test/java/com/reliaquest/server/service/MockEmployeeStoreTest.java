@@ -0,0 +1,183 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    private static final UUID ID_1 = UUID.fromString("00000000-0000-4000-8000-000000000001");
+    private static final UUID ID_2 = UUID.fromString("00000000-0000-4000-8000-000000000002");
+    private static final UUID ID_3 = UUID.fromString("00000000-0000-4000-8000-000000000003");
+    private static final UUID ID_4 = UUID.fromString("00000000-0000-4000-8000-000000000004");
+
+    @Test
+    void freshlySeededStoreListsTheSeededEmployees() {
+        final var seeded = List.of(employee(ID_3, "Ada"), employee(ID_1, "Grace"), employee(ID_2, "Alan"));
+
+        final var store = new MockEmployeeStore(seeded);
+
+        assertEquals(seeded, store.all());
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void seedingWithARepeatedIdKeepsTheLaterEmployee() {
+        final var store = new MockEmployeeStore(
+                List.of(employee(ID_1, "Ada"), employee(ID_2, "Grace"), employee(ID_1, "Ada Lovelace")));
+
+        assertEquals(
+                List.of("Grace", "Ada Lovelace"),
+                store.all().stream().map(MockEmployee::getName).toList());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void addMakesEmployeeFindableAndListedLast() {
+        final var store = new MockEmployeeStore(List.of(employee(ID_2, "Ada")));
+        final var grace = employee(ID_1, "Grace");
+
+        store.add(grace);
+
+        assertEquals(grace, store.findById(ID_1).orElseThrow());
+        assertEquals(List.of(ID_2, ID_1), ids(store.all()));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void addWithKnownIdReplacesTheEmployee() {
+        final var store = new MockEmployeeStore(List.of(employee(ID_1, "Ada"), employee(ID_2, "Grace")));
+
+        store.add(employee(ID_1, "Ada Lovelace"));
+
+        assertEquals("Ada Lovelace", store.findById(ID_1).orElseThrow().getName());
+        assertEquals(List.of(ID_2, ID_1), ids(store.all()));
+        assertTrue(store.removeFirstByName("Ada").isEmpty());
+    }
+
+    @Test
+    void removeFirstByNameTakesEarliestNamesakeIgnoringCase() {
+        final var store =
+                new MockEmployeeStore(List.of(employee(ID_3, "Ada"), employee(ID_1, "Grace"), employee(ID_2, "ada")));
+
+        assertEquals(ID_3, store.removeFirstByName("ADA").orElseThrow().getId());
+        assertEquals(ID_2, store.removeFirstByName("Ada").orElseThrow().getId());
+        assertTrue(store.removeFirstByName("Ada").isEmpty());
+        assertTrue(store.removeFirstByName(null).isEmpty());
+        assertTrue(store.findById(ID_3).isEmpty());
+        assertEquals(List.of(ID_1), ids(store.all()));
+    }
+
+    @Test
+    void allIsAnImmutableSnapshotRefreshedAfterWrites() {
+        final var store = new MockEmployeeStore(List.of(employee(ID_1, "Ada")));
+        final var before = store.all();
+        assertSame(before, store.all());
+
+        store.add(employee(ID_2, "Grace"));
+        store.removeFirstByName("Ada");
+
+        assertEquals(List.of(ID_1), ids(before));
+        assertEquals(List.of(ID_2), ids(store.all()));
+        assertThrows(UnsupportedOperationException.class, () -> store.all().clear());
+    }
+
+    @Test
+    void rangeExcludesBothCursors() {
+        final var store = new MockEmployeeStore(
+                List.of(employee(ID_4, "D"), employee(ID_2, "B"), employee(ID_1, "A"), employee(ID_3, "C")));
+
+        assertEquals(
+                List.of(ID_1, ID_2, ID_3, ID_4),
+                List.copyOf(store.range(null, null).keySet()));
+        assertEquals(
+                List.of(ID_2, ID_3, ID_4), List.copyOf(store.range(ID_1, null).keySet()));
+        assertEquals(List.of(ID_1, ID_2), List.copyOf(store.range(null, ID_3).keySet()));
+        assertEquals(List.of(ID_2, ID_3), List.copyOf(store.range(ID_1, ID_4).keySet()));
+        assertTrue(store.range(ID_2, ID_3).isEmpty());
+        assertTrue(store.range(ID_3, ID_3).isEmpty());
+        assertTrue(store.range(ID_4, ID_1).isEmpty());
+        assertTrue(store.range(ID_4, null).isEmpty());
+    }
+
+    @Test
+    void rangeSeesWritesMadeAfterItWasTaken() {
+        final var store = new MockEmployeeStore(List.of(employee(ID_1, "A")));
+        final var tail = store.range(ID_1, null);
+
+        store.add(employee(ID_3, "C"));
+
+        assertEquals(List.of(ID_3), List.copyOf(tail.keySet()));
+    }
+
+    @Test
+    void concurrentAddsAndRemovesKeepEveryIndexConsistent() throws InterruptedException {
+        final var store = new MockEmployeeStore(List.of());
+        final int threads = 8;
+        final int perThread = 500;
+        final var start = new CountDownLatch(1);
+        final var removed = new AtomicInteger();
+        final var workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    store.add(employee(UUID.randomUUID(), "Worker " + thread));
+                    store.all();
+                    if (i % 2 == 1
+                            && store.removeFirstByName("worker " + thread).isPresent()) {
+                        removed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        final int expected = threads * perThread - removed.get();
+        assertEquals(threads * perThread / 2, removed.get());
+        assertEquals(expected, store.size());
+        assertEquals(expected, store.all().size());
+        assertEquals(expected, store.range(null, null).size());
+        store.all()
+                .forEach(employee -> assertTrue(store.findById(employee.getId()).isPresent()));
+        int drained = 0;
+        for (int t = 0; t < threads; t++) {
+            while (store.removeFirstByName("Worker " + t).isPresent()) {
+                drained++;
+            }
+        }
+        assertEquals(expected, drained);
+        assertTrue(store.all().isEmpty());
+    }
+
+    private static MockEmployee employee(UUID id, String name) {
+        return MockEmployee.builder()
+                .id(id)
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email(name.toLowerCase() + "@company.com")
+                .build();
+    }
+
+    private static List<UUID> ids(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class RandomRequestLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private final RandomRequestLimiter limiter = new RandomRequestLimiter(2, Duration.ofSeconds(1), 100);
+    private final long start = System.nanoTime();
+
+    @Test
+    void locksClientOutOnceItsRequestsAreUsed() {
+        assertEquals(0, limiter.acquire("client", start));
+        assertEquals(0, limiter.acquire("client", start + 10 * MILLI));
+
+        assertEquals(1000 * MILLI, limiter.acquire("client", start + 10 * MILLI));
+        assertEquals(500 * MILLI, limiter.acquire("client", start + 510 * MILLI));
+        assertEquals(0, limiter.acquire("other", start + 510 * MILLI));
+    }
+
+    @Test
+    void admitsAgainExactlyWhenTheBackoffHasPassedSinceTheLastAdmittedRequest() {
+        limiter.acquire("client", start);
+        limiter.acquire("client", start + 10 * MILLI);
+
+        assertEquals(MILLI, limiter.acquire("client", start + 1009 * MILLI));
+        assertEquals(0, limiter.acquire("client", start + 1010 * MILLI));
+
+        // The lockout restarted the count at one.
+        assertEquals(0, limiter.acquire("client", start + 1010 * MILLI));
+        assertEquals(1000 * MILLI, limiter.acquire("client", start + 1010 * MILLI));
+    }
+
+    @Test
+    void releaseHandsBackOneRequestButNeverMoreThanWereCounted() {
+        limiter.acquire("client", start);
+        limiter.release("client", start);
+        limiter.release("client", start);
+
+        assertEquals(0, limiter.acquire("client", start));
+        assertEquals(0, limiter.acquire("client", start));
+        assertTrue(limiter.acquire("client", start) > 0);
+
+        limiter.release("client", start);
+        assertEquals(0, limiter.acquire("client", start));
+        assertTrue(limiter.acquire("client", start) > 0);
+    }
+
+    @Test
+    void forgetsIdleClientsOnceMaxClientsAreTracked() {
+        final var bounded = new RandomRequestLimiter(1, Duration.ofSeconds(1), 2);
+        final long now = System.nanoTime();
+        bounded.acquire("first", now);
+        bounded.acquire("second", now);
+
+        // Both are locked out, so neither may be forgotten.
+        bounded.acquire("third", now);
+        assertEquals(3, bounded.trackedClients());
+
+        bounded.acquire("fourth", now + 2000 * MILLI);
+        assertEquals(1, bounded.trackedClients());
+    }
+
+    @Test
+    void reportsItsSettings() {
+        assertEquals(2, limiter.requests());
+        assertEquals(Duration.ofSeconds(1), limiter.backoff());
+    }
+}
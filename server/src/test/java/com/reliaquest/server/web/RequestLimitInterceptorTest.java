@@ -0,0 +1,132 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLimitInterceptorTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final StubLimiter limiter = new StubLimiter();
+    private final RequestLimitInterceptor interceptor =
+            new RequestLimitInterceptor(limiter, request -> request.getRemoteAddr());
+
+    @Test
+    void admitsRequestsTheLimiterAdmits() {
+        final var response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/employee"), response, null));
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(List.of("127.0.0.1"), limiter.acquired);
+    }
+
+    @Test
+    void rejectsWithRetryAfterRoundedUpToWholeSeconds() {
+        assertEquals("1", retryAfter(1));
+        assertEquals("1", retryAfter(SECOND));
+        assertEquals("2", retryAfter(SECOND + 1));
+        assertEquals("3", retryAfter(5 * SECOND / 2));
+    }
+
+    @Test
+    void doesNotCountAsyncDispatches() {
+        limiter.wait = SECOND;
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee/changes");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        final var response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(200, response.getStatus());
+        assertTrue(limiter.acquired.isEmpty());
+    }
+
+    @Test
+    void releasesAdmittedRequestsAnsweredWithNotModified() {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        final var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+
+        response.setStatus(304);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(List.of("127.0.0.1"), limiter.released);
+    }
+
+    @Test
+    void keepsTheBudgetForOtherResponsesAndRejectedRequests() {
+        final var admitted = new MockHttpServletRequest("GET", "/api/v1/employee");
+        final var ok = new MockHttpServletResponse();
+        interceptor.preHandle(admitted, ok, null);
+        interceptor.afterCompletion(admitted, ok, null, null);
+
+        limiter.wait = SECOND;
+        final var refused = new MockHttpServletRequest("GET", "/api/v1/employee");
+        final var tooMany = new MockHttpServletResponse();
+        interceptor.preHandle(refused, tooMany, null);
+        tooMany.setStatus(304);
+        interceptor.afterCompletion(refused, tooMany, null, null);
+
+        assertTrue(limiter.released.isEmpty());
+    }
+
+    @Test
+    void countsAdmittedRejectedAndReleasedRequests() {
+        final var registry = new SimpleMeterRegistry();
+        interceptor.bindTo(registry);
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        final var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(304);
+        interceptor.afterCompletion(request, response, null, null);
+        limiter.wait = SECOND;
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+        assertEquals(1, count(registry, "admitted"));
+        assertEquals(1, count(registry, "rejected"));
+        assertEquals(
+                1, registry.get("mock.rate.limit.released").functionCounter().count());
+    }
+
+    private String retryAfter(long wait) {
+        limiter.wait = wait;
+        final var response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/employee"), response, null));
+        assertEquals(429, response.getStatus());
+        return response.getHeader(HttpHeaders.RETRY_AFTER);
+    }
+
+    private static double count(SimpleMeterRegistry registry, String result) {
+        return registry.get("mock.rate.limit.requests")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static class StubLimiter implements RequestLimiter {
+
+        private final List<String> acquired = new ArrayList<>();
+        private final List<String> released = new ArrayList<>();
+        private long wait;
+
+        @Override
+        public long acquire(String client, long now) {
+            acquired.add(client);
+            return wait;
+        }
+
+        @Override
+        public void release(String client, long now) {
+            released.add(client);
+        }
+    }
+}
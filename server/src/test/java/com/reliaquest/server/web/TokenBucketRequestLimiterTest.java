@@ -0,0 +1,84 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRequestLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // Three tokens, one refilled per second.
+    private final TokenBucketRequestLimiter limiter = new TokenBucketRequestLimiter(3, Duration.ofSeconds(3), 100);
+    private final long start = System.nanoTime();
+
+    @Test
+    void burstsTheWholeBudgetThenRefillsOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("client", start));
+        }
+        assertEquals(SECOND, limiter.acquire("client", start));
+        assertEquals(1, limiter.acquire("client", start + SECOND - 1));
+
+        assertEquals(0, limiter.acquire("client", start + SECOND));
+        assertEquals(SECOND, limiter.acquire("client", start + SECOND));
+    }
+
+    @Test
+    void refillsNoMoreThanTheBudgetWhileIdle() {
+        limiter.acquire("client", start);
+
+        final long later = start + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("client", later));
+        }
+        assertEquals(SECOND, limiter.acquire("client", later));
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("first", start);
+        }
+
+        assertTrue(limiter.acquire("first", start) > 0);
+        assertEquals(0, limiter.acquire("second", start));
+    }
+
+    @Test
+    void releaseRefundsOneTokenButNeverMoreThanTheBudget() {
+        limiter.acquire("client", start);
+        limiter.release("client", start);
+        limiter.release("client", start);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("client", start));
+        }
+        assertEquals(SECOND, limiter.acquire("client", start));
+
+        limiter.release("client", start);
+        assertEquals(0, limiter.acquire("client", start));
+        assertEquals(SECOND, limiter.acquire("client", start));
+    }
+
+    @Test
+    void forgetsIdleClientsOnceMaxClientsAreTracked() {
+        final var bounded = new TokenBucketRequestLimiter(1, Duration.ofSeconds(1), 2);
+        bounded.acquire("first", start);
+        bounded.acquire("second", start);
+
+        // Both buckets are still refilling, so neither may be forgotten.
+        bounded.acquire("third", start);
+        assertEquals(3, bounded.trackedClients());
+
+        bounded.acquire("fourth", start + 2 * SECOND);
+        assertEquals(1, bounded.trackedClients());
+    }
+
+    @Test
+    void rejectsAnEmptyBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRequestLimiter(0, Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRequestLimiter(1, Duration.ZERO, 1));
+    }
+}